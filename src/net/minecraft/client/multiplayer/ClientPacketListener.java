@@ -142,6 +142,7 @@ import net.minecraft.network.protocol.game.ClientboundDebugSamplePacket;
 import net.minecraft.network.protocol.game.ClientboundDeleteChatPacket;
 import net.minecraft.network.protocol.game.ClientboundDisguisedChatPacket;
 import net.minecraft.network.protocol.game.ClientboundEntityEventPacket;
+import net.minecraft.network.protocol.game.ClientboundEntityMovementBatchPacket;
 import net.minecraft.network.protocol.game.ClientboundEntityPositionSyncPacket;
 import net.minecraft.network.protocol.game.ClientboundExplodePacket;
 import net.minecraft.network.protocol.game.ClientboundForgetLevelChunkPacket;
@@ -2226,6 +2227,15 @@ public class ClientPacketListener extends ClientCommonPacketListenerImpl impleme
 
    }
 
+   public void handleEntityMovementBatch(final ClientboundEntityMovementBatchPacket packet) {
+      PacketUtils.ensureRunningOnSameThread(packet, this, (PacketProcessor)this.minecraft.packetProcessor());
+
+      for(Packet update : packet.updates()) {
+         update.handle(this);
+      }
+
+   }
+
    public void handleProjectilePowerPacket(final ClientboundProjectilePowerPacket packet) {
       PacketUtils.ensureRunningOnSameThread(packet, this, (PacketProcessor)this.minecraft.packetProcessor());
       Entity entity = this.level.getEntity(packet.getId());
@@ -56,6 +56,7 @@ import net.minecraft.server.commands.BossBarCommands;
 import net.minecraft.server.commands.ChaseCommand;
 import net.minecraft.server.commands.ClearInventoryCommands;
 import net.minecraft.server.commands.CloneCommands;
+import net.minecraft.server.commands.CompactRegionsCommand;
 import net.minecraft.server.commands.DamageCommand;
 import net.minecraft.server.commands.DataPackCommand;
 import net.minecraft.server.commands.DeOpCommands;
@@ -265,6 +266,7 @@ public class Commands {
          BanIpCommands.register(this.dispatcher);
          BanListCommands.register(this.dispatcher);
          BanPlayerCommands.register(this.dispatcher);
+         CompactRegionsCommand.register(this.dispatcher);
          DeOpCommands.register(this.dispatcher);
          OpCommand.register(this.dispatcher);
          PardonCommand.register(this.dispatcher);
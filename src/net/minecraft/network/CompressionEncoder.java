@@ -2,20 +2,46 @@ package net.minecraft.network;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
-import java.util.zip.Deflater;
+import net.minecraft.network.protocol.PacketType;
+import net.minecraft.util.profiling.jfr.JvmProfiler;
 
 public class CompressionEncoder extends MessageToByteEncoder {
-   private final byte[] encodeBuf = new byte[8192];
-   private final Deflater deflater;
+   private final PacketCompressor compressor;
    private int threshold;
 
    public CompressionEncoder(final int threshold) {
       this.threshold = threshold;
-      this.deflater = new Deflater();
+      this.compressor = PacketCompression.createCompressor();
+   }
+
+   public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+      if (msg instanceof PreparedPacket prepared) {
+         JvmProfiler.INSTANCE.onPacketSent(prepared.protocol(), prepared.type(), ctx.channel().remoteAddress(), prepared.uncompressedSize());
+         if (PacketStatistics.isEnabled()) {
+            PacketStatistics.recordEncoded(ctx.channel(), prepared.type(), prepared.uncompressedSize(), 0L);
+            PacketStatistics.recordCompressed(ctx.channel(), prepared.type(), prepared.content().readableBytes());
+         }
+
+         ctx.write(prepared.content(), promise);
+      } else {
+         super.write(ctx, msg, promise);
+      }
+
    }
 
    protected void encode(final ChannelHandlerContext ctx, final ByteBuf uncompressed, final ByteBuf out) {
+      PacketType<?> type = !PacketCompression.hasPacketLevels() && !PacketStatistics.isEnabled() ? null : (PacketType)ctx.channel().attr(PacketEncoder.LAST_PACKET_TYPE).get();
+      int start = out.writerIndex();
+      this.compress(uncompressed, out, PacketCompression.getLevel(type));
+      if (type != null && PacketStatistics.isEnabled()) {
+         PacketStatistics.recordCompressed(ctx.channel(), type, out.writerIndex() - start);
+      }
+
+   }
+
+   public void compress(final ByteBuf uncompressed, final ByteBuf out, final int level) {
       int uncompressedLength = uncompressed.readableBytes();
       if (uncompressedLength > 8388608) {
          throw new IllegalArgumentException("Packet too big (is " + uncompressedLength + ", should be less than 8388608)");
@@ -24,18 +50,8 @@ public class CompressionEncoder extends MessageToByteEncoder {
             VarInt.write(out, 0);
             out.writeBytes(uncompressed);
          } else {
-            byte[] input = new byte[uncompressedLength];
-            uncompressed.readBytes(input);
-            VarInt.write(out, input.length);
-            this.deflater.setInput(input, 0, uncompressedLength);
-            this.deflater.finish();
-
-            while(!this.deflater.finished()) {
-               int written = this.deflater.deflate(this.encodeBuf);
-               out.writeBytes(this.encodeBuf, 0, written);
-            }
-
-            this.deflater.reset();
+            VarInt.write(out, uncompressedLength);
+            this.compressor.compress(uncompressed, out, level);
          }
 
       }
@@ -22,12 +22,16 @@ import io.netty.channel.local.LocalServerChannel;
 import io.netty.handler.flow.FlowControlHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.TimeoutException;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.PlatformDependent;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.channels.ClosedChannelException;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import javax.crypto.Cipher;
 import net.minecraft.SharedConstants;
@@ -62,9 +66,15 @@ public class Connection extends SimpleChannelInboundHandler {
    public static final Marker PACKET_RECEIVED_MARKER = (Marker)Util.make(MarkerFactory.getMarker("PACKET_RECEIVED"), (m) -> m.add(PACKET_MARKER));
    public static final Marker PACKET_SENT_MARKER = (Marker)Util.make(MarkerFactory.getMarker("PACKET_SENT"), (m) -> m.add(PACKET_MARKER));
    private static final ProtocolInfo INITIAL_PROTOCOL;
+   private static volatile boolean coalescedWrites;
+   private static final LongAdder WRITE_DRAIN_TASKS = new LongAdder();
+   private static final LongAdder DRAINED_WRITES = new LongAdder();
    private final PacketFlow receiving;
    private volatile boolean sendLoginDisconnect = true;
    private final Queue pendingActions = Queues.newConcurrentLinkedQueue();
+   private final Queue pendingWrites = PlatformDependent.newMpscQueue();
+   private final AtomicBoolean pendingWritesScheduled = new AtomicBoolean();
+   private volatile boolean drainingPendingActions;
    private Channel channel;
    private SocketAddress address;
    private volatile @Nullable PacketListener disconnectListener;
@@ -80,6 +90,7 @@ public class Connection extends SimpleChannelInboundHandler {
    private boolean handlingFault;
    private volatile @Nullable DisconnectionDetails delayedDisconnect;
    private @Nullable BandwidthDebugMonitor bandwidthDebugMonitor;
+   private volatile @Nullable ConnectionProtocol outboundProtocol;
 
    public Connection(final PacketFlow receiving) {
       this.receiving = receiving;
@@ -89,6 +100,10 @@ public class Connection extends SimpleChannelInboundHandler {
       super.channelActive(ctx);
       this.channel = ctx.channel();
       this.address = this.channel.remoteAddress();
+      if (PacketStatistics.isEnabled()) {
+         this.channel.attr(PacketStatistics.ATTRIBUTE).set(new PacketStatistics());
+      }
+
       if (this.delayedDisconnect != null) {
          this.disconnect(this.delayedDisconnect);
       }
@@ -96,6 +111,7 @@ public class Connection extends SimpleChannelInboundHandler {
    }
 
    public void channelInactive(final ChannelHandlerContext ctx) {
+      this.discardPendingWrites();
       this.disconnect((Component)Component.translatable("disconnect.endOfStream"));
    }
 
@@ -224,7 +240,22 @@ public class Connection extends SimpleChannelInboundHandler {
          }
 
          boolean isLoginProtocol = protocol.id() == ConnectionProtocol.LOGIN;
-         syncAfterConfigurationChange(this.channel.writeAndFlush(configMessage.andThen((ctx) -> this.sendLoginDisconnect = isLoginProtocol)));
+         syncAfterConfigurationChange(this.writeAfterPendingWrites(configMessage.andThen((ctx) -> this.sendLoginDisconnect = isLoginProtocol)));
+         this.outboundProtocol = protocol.id();
+      }
+   }
+
+   private ChannelFuture writeAfterPendingWrites(final Object message) {
+      if (this.channel.eventLoop().inEventLoop()) {
+         this.writePendingWrites();
+         return this.channel.writeAndFlush(message);
+      } else {
+         ChannelPromise promise = this.channel.newPromise();
+         this.channel.eventLoop().execute(() -> {
+            this.writePendingWrites();
+            this.channel.writeAndFlush(message, promise);
+         });
+         return promise;
       }
    }
 
@@ -281,6 +312,50 @@ public class Connection extends SimpleChannelInboundHandler {
 
    }
 
+   public boolean sendPrepared(final PreparedPacket packet, final boolean flush) {
+      if (this.isConnected() && this.canSendPrepared(packet)) {
+         this.flushQueue();
+         ++this.sentPackets;
+         PreparedPacket duplicate = packet.retainedDuplicate();
+         if (this.channel.eventLoop().inEventLoop()) {
+            this.writePendingWrites();
+            this.doSendPrepared(duplicate, flush);
+         } else if (coalescedWrites) {
+            this.pendingWrites.add(new PendingWrite(duplicate, (ChannelFutureListener)null));
+            if (flush) {
+               this.schedulePendingWrites();
+            }
+         } else {
+            this.channel.eventLoop().execute(() -> this.doSendPrepared(duplicate, flush));
+         }
+
+         return true;
+      } else {
+         return false;
+      }
+   }
+
+   private boolean canSendPrepared(final PreparedPacket packet) {
+      if (!this.isMemoryConnection() && this.outboundProtocol == packet.protocol()) {
+         ChannelHandler var3 = this.channel.pipeline().get("compress");
+         if (var3 instanceof CompressionEncoder) {
+            CompressionEncoder compressionEncoder = (CompressionEncoder)var3;
+            return compressionEncoder.getThreshold() == packet.threshold();
+         }
+      }
+
+      return false;
+   }
+
+   private void doSendPrepared(final PreparedPacket packet, final boolean flush) {
+      if (flush) {
+         this.channel.writeAndFlush(packet, this.channel.voidPromise());
+      } else {
+         this.channel.write(packet, this.channel.voidPromise());
+      }
+
+   }
+
    public void runOnceConnected(final Consumer action) {
       if (this.isConnected()) {
          this.flushQueue();
@@ -291,10 +366,32 @@ public class Connection extends SimpleChannelInboundHandler {
 
    }
 
+   public static void configureCoalescedWrites(final boolean enabled) {
+      coalescedWrites = enabled;
+   }
+
+   public static long getWriteDrainTasks() {
+      return WRITE_DRAIN_TASKS.sum();
+   }
+
+   public static long getDrainedWrites() {
+      return DRAINED_WRITES.sum();
+   }
+
+   public int getPendingWriteCount() {
+      return this.pendingWrites.size();
+   }
+
    private void sendPacket(final Packet packet, final @Nullable ChannelFutureListener listener, final boolean flush) {
       ++this.sentPackets;
       if (this.channel.eventLoop().inEventLoop()) {
+         this.writePendingWrites();
          this.doSendPacket(packet, listener, flush);
+      } else if (coalescedWrites) {
+         this.pendingWrites.add(new PendingWrite(packet, listener));
+         if (flush) {
+            this.schedulePendingWrites();
+         }
       } else {
          this.channel.eventLoop().execute(() -> this.doSendPacket(packet, listener, flush));
       }
@@ -324,19 +421,67 @@ public class Connection extends SimpleChannelInboundHandler {
 
    private void flush() {
       if (this.channel.eventLoop().inEventLoop()) {
+         this.writePendingWrites();
          this.channel.flush();
+      } else if (coalescedWrites) {
+         this.schedulePendingWrites();
       } else {
          this.channel.eventLoop().execute(() -> this.channel.flush());
       }
 
    }
 
+   private void schedulePendingWrites() {
+      if (this.pendingWritesScheduled.compareAndSet(false, true)) {
+         this.channel.eventLoop().execute(() -> {
+            this.pendingWritesScheduled.set(false);
+            WRITE_DRAIN_TASKS.increment();
+            DRAINED_WRITES.add((long)this.writePendingWrites());
+            this.channel.flush();
+         });
+      }
+
+   }
+
+   private int writePendingWrites() {
+      int drained = 0;
+
+      PendingWrite write;
+      for(; (write = (PendingWrite)this.pendingWrites.poll()) != null; ++drained) {
+         if (write.listener() != null) {
+            this.channel.write(write.message()).addListener(write.listener());
+         } else {
+            this.channel.write(write.message(), this.channel.voidPromise());
+         }
+      }
+
+      return drained;
+   }
+
+   private void discardPendingWrites() {
+      PendingWrite write;
+      while((write = (PendingWrite)this.pendingWrites.poll()) != null) {
+         ReferenceCountUtil.release(write.message());
+         if (write.listener() != null) {
+            this.channel.newFailedFuture(new ClosedChannelException()).addListener(write.listener());
+         }
+      }
+
+   }
+
    private void flushQueue() {
-      if (this.channel != null && this.channel.isOpen()) {
+      if (this.channel != null && this.channel.isOpen() && (!this.pendingActions.isEmpty() || this.drainingPendingActions)) {
          synchronized(this.pendingActions) {
-            Consumer<Connection> pendingAction;
-            while((pendingAction = (Consumer)this.pendingActions.poll()) != null) {
-               pendingAction.accept(this);
+            boolean wasDraining = this.drainingPendingActions;
+            this.drainingPendingActions = true;
+
+            try {
+               Consumer<Connection> pendingAction;
+               while((pendingAction = (Consumer)this.pendingActions.poll()) != null) {
+                  pendingAction.accept(this);
+               }
+            } finally {
+               this.drainingPendingActions = wasDraining;
             }
 
          }
@@ -355,7 +500,7 @@ public class Connection extends SimpleChannelInboundHandler {
       }
 
       if (this.channel != null) {
-         this.channel.flush();
+         this.flush();
       }
 
       if (this.tickCount++ % 20 == 0) {
@@ -510,6 +655,14 @@ public class Connection extends SimpleChannelInboundHandler {
       return this.channel != null && this.channel.isOpen();
    }
 
+   public boolean isChannelWritable() {
+      return this.channel != null && this.channel.isWritable();
+   }
+
+   public @Nullable PacketStatistics getPacketStatistics() {
+      return this.channel == null ? null : PacketStatistics.forChannel(this.channel);
+   }
+
    public boolean isConnecting() {
       return this.channel == null;
    }
@@ -590,4 +743,7 @@ public class Connection extends SimpleChannelInboundHandler {
    static {
       INITIAL_PROTOCOL = HandshakeProtocols.SERVERBOUND;
    }
+
+   private static record PendingWrite(Object message, @Nullable ChannelFutureListener listener) {
+   }
 }
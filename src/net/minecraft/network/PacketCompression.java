@@ -0,0 +1,85 @@
+package net.minecraft.network;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import net.minecraft.network.protocol.PacketType;
+import net.minecraft.resources.Identifier;
+import net.minecraft.util.Mth;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+public final class PacketCompression {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   private static final Map BACKENDS = new LinkedHashMap();
+   public static final String HEAP = "heap";
+   public static final String DIRECT = "direct";
+   private static volatile Supplier selected;
+   private static volatile int defaultLevel;
+   private static volatile Object2IntMap levelsByType;
+
+   private PacketCompression() {
+   }
+
+   public static synchronized void register(final String name, final Supplier factory) {
+      BACKENDS.put(name, factory);
+   }
+
+   public static synchronized void configure(final String backend, final int level, final String packetLevels) {
+      Supplier<PacketCompressor> factory = (Supplier)BACKENDS.get(backend);
+      if (factory != null) {
+         selected = factory;
+      } else {
+         LOGGER.error("Invalid `network-compression-backend` value `{}` in server.properties. Please use one of: {}", backend, String.join(", ", BACKENDS.keySet()));
+      }
+
+      defaultLevel = Mth.clamp(level, -1, 9);
+      levelsByType = parsePacketLevels(packetLevels);
+   }
+
+   private static Object2IntMap parsePacketLevels(final String packetLevels) {
+      Object2IntMap<Identifier> levels = new Object2IntOpenHashMap();
+
+      for(String entry : packetLevels.split(",")) {
+         if (!entry.isBlank()) {
+            int separator = entry.indexOf(61);
+            Identifier id = separator > 0 ? Identifier.tryParse(entry.substring(0, separator).trim()) : null;
+            if (id == null) {
+               LOGGER.error("Invalid `network-compression-packet-levels` entry `{}` in server.properties, expected <packet id>=<level>", entry);
+            } else {
+               try {
+                  levels.put(id, Mth.clamp(Integer.parseInt(entry.substring(separator + 1).trim()), -1, 9));
+               } catch (NumberFormatException var8) {
+                  LOGGER.error("Invalid `network-compression-packet-levels` entry `{}` in server.properties, expected <packet id>=<level>", entry);
+               }
+            }
+         }
+      }
+
+      return levels.isEmpty() ? Object2IntMaps.emptyMap() : levels;
+   }
+
+   public static PacketCompressor createCompressor() {
+      return (PacketCompressor)selected.get();
+   }
+
+   public static boolean hasPacketLevels() {
+      return !levelsByType.isEmpty();
+   }
+
+   public static int getLevel(final @Nullable PacketType type) {
+      return type == null ? defaultLevel : levelsByType.getOrDefault(type.id(), defaultLevel);
+   }
+
+   static {
+      register("heap", PacketCompressor.Heap::new);
+      register("direct", PacketCompressor.Direct::new);
+      selected = PacketCompressor.Heap::new;
+      defaultLevel = -1;
+      levelsByType = Object2IntMaps.emptyMap();
+   }
+}
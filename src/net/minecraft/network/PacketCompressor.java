@@ -0,0 +1,80 @@
+package net.minecraft.network;
+
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import org.jspecify.annotations.Nullable;
+
+public interface PacketCompressor {
+   void compress(final ByteBuf uncompressed, final ByteBuf out, final int level);
+
+   public static class Heap implements PacketCompressor {
+      private final byte[] encodeBuf = new byte[8192];
+      private final Deflater deflater = new Deflater();
+      private int level = -1;
+
+      public void compress(final ByteBuf uncompressed, final ByteBuf out, final int level) {
+         if (level != this.level) {
+            this.deflater.setLevel(level);
+            this.level = level;
+         }
+
+         int uncompressedLength = uncompressed.readableBytes();
+         byte[] input = new byte[uncompressedLength];
+         uncompressed.readBytes(input);
+         this.deflater.setInput(input, 0, uncompressedLength);
+         this.deflater.finish();
+
+         while(!this.deflater.finished()) {
+            int written = this.deflater.deflate(this.encodeBuf);
+            out.writeBytes(this.encodeBuf, 0, written);
+         }
+
+         this.deflater.reset();
+      }
+   }
+
+   public static class Direct implements PacketCompressor {
+      private static final int MIN_WRITABLE_BYTES = 8192;
+      private final Deflater deflater = new Deflater();
+      private byte @Nullable [] encodeBuf;
+      private int level = -1;
+
+      public void compress(final ByteBuf uncompressed, final ByteBuf out, final int level) {
+         if (level != this.level) {
+            this.deflater.setLevel(level);
+            this.level = level;
+         }
+
+         int uncompressedLength = uncompressed.readableBytes();
+         if (uncompressed.nioBufferCount() == 1) {
+            this.deflater.setInput(uncompressed.nioBuffer());
+            uncompressed.skipBytes(uncompressedLength);
+         } else {
+            byte[] input = new byte[uncompressedLength];
+            uncompressed.readBytes(input);
+            this.deflater.setInput(input, 0, uncompressedLength);
+         }
+
+         this.deflater.finish();
+
+         while(!this.deflater.finished()) {
+            out.ensureWritable(8192);
+            if (out.nioBufferCount() == 1) {
+               ByteBuffer target = out.nioBuffer(out.writerIndex(), out.writableBytes());
+               int written = this.deflater.deflate(target);
+               out.writerIndex(out.writerIndex() + written);
+            } else {
+               if (this.encodeBuf == null) {
+                  this.encodeBuf = new byte[8192];
+               }
+
+               int written = this.deflater.deflate(this.encodeBuf);
+               out.writeBytes(this.encodeBuf, 0, written);
+            }
+         }
+
+         this.deflater.reset();
+      }
+   }
+}
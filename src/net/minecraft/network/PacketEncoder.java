@@ -4,6 +4,7 @@ import com.mojang.logging.LogUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.AttributeKey;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.PacketType;
 import net.minecraft.util.profiling.jfr.JvmProfiler;
@@ -11,6 +12,7 @@ import org.slf4j.Logger;
 
 public class PacketEncoder extends MessageToByteEncoder {
    private static final Logger LOGGER = LogUtils.getLogger();
+   public static final AttributeKey LAST_PACKET_TYPE = AttributeKey.valueOf("last_packet_type");
    private final ProtocolInfo protocolInfo;
 
    public PacketEncoder(final ProtocolInfo protocolInfo) {
@@ -21,8 +23,17 @@ public class PacketEncoder extends MessageToByteEncoder {
       PacketType<? extends Packet<? super T>> packetId = packet.type();
 
       try {
+         long encodeStart = PacketStatistics.isEnabled() ? System.nanoTime() : 0L;
          this.protocolInfo.codec().encode(output, packet);
+         if (PacketCompression.hasPacketLevels() || PacketStatistics.isEnabled()) {
+            ctx.channel().attr(LAST_PACKET_TYPE).set(packetId);
+         }
+
          int writtenBytes = output.readableBytes();
+         if (PacketStatistics.isEnabled()) {
+            PacketStatistics.recordEncoded(ctx.channel(), packetId, writtenBytes, System.nanoTime() - encodeStart);
+         }
+
          if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(Connection.PACKET_SENT_MARKER, "OUT: [{}:{}] {} -> {} bytes", new Object[]{this.protocolInfo.id().id(), packetId, packet.getClass().getName(), writtenBytes});
          }
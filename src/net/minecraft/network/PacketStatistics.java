@@ -0,0 +1,113 @@
+package net.minecraft.network;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import net.minecraft.network.protocol.PacketType;
+import net.minecraft.util.profiling.metrics.MetricCategory;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.util.profiling.metrics.ProfilerMeasured;
+import org.jspecify.annotations.Nullable;
+
+public class PacketStatistics implements ProfilerMeasured {
+   public static final PacketStatistics GLOBAL = new PacketStatistics();
+   public static final AttributeKey ATTRIBUTE = AttributeKey.valueOf("packet_statistics");
+   private static volatile boolean enabled;
+   private final Map countersByType = new ConcurrentHashMap();
+
+   public static void configure(final boolean enabled) {
+      PacketStatistics.enabled = enabled;
+      if (enabled) {
+         MetricsRegistry.INSTANCE.add(GLOBAL);
+      }
+
+   }
+
+   public static boolean isEnabled() {
+      return enabled;
+   }
+
+   public static @Nullable PacketStatistics forChannel(final Channel channel) {
+      return enabled ? (PacketStatistics)channel.attr(ATTRIBUTE).get() : null;
+   }
+
+   public static void recordEncoded(final Channel channel, final PacketType type, final int encodedBytes, final long encodeNanos) {
+      GLOBAL.counters(type).recordEncoded(encodedBytes, encodeNanos);
+      PacketStatistics statistics = forChannel(channel);
+      if (statistics != null) {
+         statistics.counters(type).recordEncoded(encodedBytes, encodeNanos);
+      }
+
+   }
+
+   public static void recordCompressed(final Channel channel, final PacketType type, final int compressedBytes) {
+      GLOBAL.counters(type).compressedBytes.add((long)compressedBytes);
+      PacketStatistics statistics = forChannel(channel);
+      if (statistics != null) {
+         statistics.counters(type).compressedBytes.add((long)compressedBytes);
+      }
+
+   }
+
+   private Counters counters(final PacketType type) {
+      return (Counters)this.countersByType.computeIfAbsent(type, (t) -> new Counters());
+   }
+
+   public List snapshot() {
+      List<Entry> entries = new ArrayList();
+      this.countersByType.forEach((type, counters) -> entries.add(((Counters)counters).snapshot((PacketType)type)));
+      entries.sort((a, b) -> Long.compare(b.encodedBytes(), a.encodedBytes()));
+      return entries;
+   }
+
+   public List profiledMetrics() {
+      ImmutableList.Builder<MetricSampler> samplers = ImmutableList.builder();
+      this.countersByType.forEach((type, counters) -> {
+         String name = "packets-sent/" + String.valueOf(((PacketType)type).id());
+         Counters typeCounters = (Counters)counters;
+         samplers.add(deltaSampler(name + "-count", typeCounters.packets::sum));
+         samplers.add(deltaSampler(name + "-bytes", typeCounters.encodedBytes::sum));
+      });
+      return samplers.build();
+   }
+
+   private static MetricSampler deltaSampler(final String name, final LongSupplier counter) {
+      long[] last = new long[]{counter.getAsLong()};
+      return MetricSampler.create(name, MetricCategory.NETWORK, () -> {
+         long value = counter.getAsLong();
+         long delta = value - last[0];
+         last[0] = value;
+         return (double)delta;
+      });
+   }
+
+   private static class Counters {
+      private final LongAdder packets = new LongAdder();
+      private final LongAdder encodedBytes = new LongAdder();
+      private final LongAdder compressedBytes = new LongAdder();
+      private final LongAdder encodeNanos = new LongAdder();
+
+      private void recordEncoded(final int bytes, final long nanos) {
+         this.packets.increment();
+         this.encodedBytes.add((long)bytes);
+         this.encodeNanos.add(nanos);
+      }
+
+      private Entry snapshot(final PacketType type) {
+         return new Entry(type, this.packets.sum(), this.encodedBytes.sum(), this.compressedBytes.sum(), this.encodeNanos.sum());
+      }
+   }
+
+   public static record Entry(PacketType type, long packets, long encodedBytes, long compressedBytes, long encodeNanos) {
+      public Entry subtract(final Entry other) {
+         return new Entry(this.type, this.packets - other.packets, this.encodedBytes - other.encodedBytes, this.compressedBytes - other.compressedBytes, this.encodeNanos - other.encodeNanos);
+      }
+   }
+}
@@ -0,0 +1,103 @@
+package net.minecraft.network;
+
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.protocol.BundlePacket;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketType;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+public class PreparedPacket extends DefaultByteBufHolder {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   private final @Nullable Packet packet;
+   private final PacketType type;
+   private final ConnectionProtocol protocol;
+   private final int threshold;
+   private final int uncompressedSize;
+
+   private PreparedPacket(final ByteBuf compressed, final @Nullable Packet packet, final PacketType type, final ConnectionProtocol protocol, final int threshold, final int uncompressedSize) {
+      super(compressed);
+      this.packet = packet;
+      this.type = type;
+      this.protocol = protocol;
+      this.threshold = threshold;
+      this.uncompressedSize = uncompressedSize;
+   }
+
+   public @Nullable Packet packet() {
+      return this.packet;
+   }
+
+   public PacketType type() {
+      return this.type;
+   }
+
+   public ConnectionProtocol protocol() {
+      return this.protocol;
+   }
+
+   public int threshold() {
+      return this.threshold;
+   }
+
+   public int uncompressedSize() {
+      return this.uncompressedSize;
+   }
+
+   public PreparedPacket replace(final ByteBuf content) {
+      return new PreparedPacket(content, this.packet, this.type, this.protocol, this.threshold, this.uncompressedSize);
+   }
+
+   public PreparedPacket withoutPacket() {
+      return new PreparedPacket(this.content(), (Packet)null, this.type, this.protocol, this.threshold, this.uncompressedSize);
+   }
+
+   public PreparedPacket retainedDuplicate() {
+      return (PreparedPacket)super.retainedDuplicate();
+   }
+
+   public static class Encoder {
+      private final ProtocolInfo protocol;
+      private final CompressionEncoder compressor;
+
+      public Encoder(final ProtocolInfo protocol, final int threshold) {
+         this.protocol = protocol;
+         this.compressor = new CompressionEncoder(threshold);
+      }
+
+      public int threshold() {
+         return this.compressor.getThreshold();
+      }
+
+      public synchronized @Nullable PreparedPacket prepare(final Packet packet) {
+         if (!(packet instanceof BundlePacket) && !packet.isTerminal() && packet.type().flow() == this.protocol.flow()) {
+            ByteBuf uncompressed = Unpooled.buffer();
+            ByteBuf compressed = null;
+
+            try {
+               this.protocol.codec().encode(uncompressed, packet);
+               int uncompressedSize = uncompressed.readableBytes();
+               compressed = Unpooled.directBuffer(Math.min(uncompressedSize, 8192) + 5);
+               this.compressor.compress(uncompressed, compressed, PacketCompression.getLevel(packet.type()));
+               PreparedPacket prepared = new PreparedPacket(compressed, packet, packet.type(), this.protocol.id(), this.compressor.getThreshold(), uncompressedSize);
+               compressed = null;
+               return prepared;
+            } catch (Throwable t) {
+               LOGGER.debug("Failed to prepare packet {} for broadcast, falling back to per-connection encoding", packet.type(), t);
+               return null;
+            } finally {
+               uncompressed.release();
+               if (compressed != null) {
+                  compressed.release();
+               }
+
+            }
+         } else {
+            return null;
+         }
+      }
+   }
+}
@@ -225,6 +225,8 @@ public interface ClientGamePacketListener extends ClientCommonPacketListener, Cl
 
    void handleBundlePacket(ClientboundBundlePacket packet);
 
+   void handleEntityMovementBatch(ClientboundEntityMovementBatchPacket packet);
+
    void handleDamageEvent(ClientboundDamageEventPacket packet);
 
    void handleConfigurationStart(ClientboundStartConfigurationPacket packet);
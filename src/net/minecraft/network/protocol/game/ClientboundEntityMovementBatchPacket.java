@@ -0,0 +1,108 @@
+package net.minecraft.network.protocol.game;
+
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketType;
+import net.minecraft.world.phys.Vec3;
+
+public record ClientboundEntityMovementBatchPacket(List updates) implements Packet {
+   public static final StreamCodec STREAM_CODEC = Packet.codec(ClientboundEntityMovementBatchPacket::write, ClientboundEntityMovementBatchPacket::read);
+   public static final int MAX_UPDATES = 1024;
+   private static final int KIND_POS = 0;
+   private static final int KIND_ROT = 1;
+   private static final int KIND_POS_ROT = 2;
+   private static final int KIND_HEAD_ROT = 3;
+   private static final int KIND_MOTION = 4;
+   private static final int KIND_MASK = 7;
+   private static final int FLAG_ON_GROUND = 8;
+
+   public static boolean canBatch(final Packet packet) {
+      return packet instanceof ClientboundMoveEntityPacket || packet instanceof ClientboundRotateHeadPacket || packet instanceof ClientboundSetEntityMotionPacket;
+   }
+
+   private static ClientboundEntityMovementBatchPacket read(final FriendlyByteBuf input) {
+      int count = input.readVarInt();
+      if (count > 1024) {
+         throw new DecoderException("Entity movement batch too large: " + count + " > 1024");
+      } else {
+         List<Packet<? super ClientGamePacketListener>> updates = new ArrayList(count);
+         int entityId = 0;
+
+         for(int i = 0; i < count; ++i) {
+            int header = input.readUnsignedByte();
+            int delta = input.readVarInt();
+            entityId += delta >>> 1 ^ -(delta & 1);
+            boolean onGround = (header & 8) != 0;
+            switch (header & 7) {
+               case 0 -> updates.add(new ClientboundMoveEntityPacket.Pos(entityId, input.readShort(), input.readShort(), input.readShort(), onGround));
+               case 1 -> updates.add(new ClientboundMoveEntityPacket.Rot(entityId, input.readByte(), input.readByte(), onGround));
+               case 2 -> updates.add(new ClientboundMoveEntityPacket.PosRot(entityId, input.readShort(), input.readShort(), input.readShort(), input.readByte(), input.readByte(), onGround));
+               case 3 -> updates.add(new ClientboundRotateHeadPacket(entityId, input.readByte()));
+               case 4 -> updates.add(new ClientboundSetEntityMotionPacket(entityId, (Vec3)Vec3.LP_STREAM_CODEC.decode(input)));
+               default -> throw new DecoderException("Unknown entity movement update kind " + (header & 7));
+            }
+         }
+
+         return new ClientboundEntityMovementBatchPacket(updates);
+      }
+   }
+
+   private void write(final FriendlyByteBuf output) {
+      output.writeVarInt(this.updates.size());
+      int lastEntityId = 0;
+
+      for(Packet update : this.updates) {
+         int entityId;
+         if (update instanceof ClientboundMoveEntityPacket move) {
+            entityId = move.entityId;
+            int kind = move.hasPos ? (move.hasRot ? 2 : 0) : 1;
+            output.writeByte(kind | (move.onGround ? 8 : 0));
+            writeEntityIdDelta(output, entityId - lastEntityId);
+            if (move.hasPos) {
+               output.writeShort(move.xa);
+               output.writeShort(move.ya);
+               output.writeShort(move.za);
+            }
+
+            if (move.hasRot) {
+               output.writeByte(move.yRot);
+               output.writeByte(move.xRot);
+            }
+         } else if (update instanceof ClientboundRotateHeadPacket headRot) {
+            entityId = headRot.getEntityId();
+            output.writeByte(3);
+            writeEntityIdDelta(output, entityId - lastEntityId);
+            output.writeByte(headRot.getPackedYHeadRot());
+         } else {
+            if (!(update instanceof ClientboundSetEntityMotionPacket motion)) {
+               throw new EncoderException("Packet " + String.valueOf(update.type()) + " cannot be sent in an entity movement batch");
+            }
+
+            entityId = motion.id();
+            output.writeByte(4);
+            writeEntityIdDelta(output, entityId - lastEntityId);
+            Vec3.LP_STREAM_CODEC.encode(output, motion.movement());
+         }
+
+         lastEntityId = entityId;
+      }
+
+   }
+
+   private static void writeEntityIdDelta(final FriendlyByteBuf output, final int delta) {
+      output.writeVarInt(delta << 1 ^ delta >> 31);
+   }
+
+   public PacketType type() {
+      return GamePacketTypes.CLIENTBOUND_ENTITY_MOVEMENT_BATCH;
+   }
+
+   public void handle(final ClientGamePacketListener listener) {
+      listener.handleEntityMovementBatch(this);
+   }
+}
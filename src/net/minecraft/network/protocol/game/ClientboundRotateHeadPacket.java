@@ -15,7 +15,11 @@ public class ClientboundRotateHeadPacket implements Packet {
    private final byte yHeadRot;
 
    public ClientboundRotateHeadPacket(final Entity entity, final byte yHeadRot) {
-      this.entityId = entity.getId();
+      this(entity.getId(), yHeadRot);
+   }
+
+   ClientboundRotateHeadPacket(final int entityId, final byte yHeadRot) {
+      this.entityId = entityId;
       this.yHeadRot = yHeadRot;
    }
 
@@ -41,6 +45,14 @@ public class ClientboundRotateHeadPacket implements Packet {
       return level.getEntity(this.entityId);
    }
 
+   int getEntityId() {
+      return this.entityId;
+   }
+
+   byte getPackedYHeadRot() {
+      return this.yHeadRot;
+   }
+
    public float getYHeadRot() {
       return Mth.unpackDegrees(this.yHeadRot);
    }
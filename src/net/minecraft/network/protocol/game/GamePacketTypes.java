@@ -127,6 +127,7 @@ public class GamePacketTypes {
    public static final PacketType CLIENTBOUND_UPDATE_RECIPES = createClientbound("update_recipes");
    public static final PacketType CLIENTBOUND_PROJECTILE_POWER = createClientbound("projectile_power");
    public static final PacketType CLIENTBOUND_WAYPOINT = createClientbound("waypoint");
+   public static final PacketType CLIENTBOUND_ENTITY_MOVEMENT_BATCH = createClientbound("entity_movement_batch");
    public static final PacketType SERVERBOUND_ACCEPT_TELEPORTATION = createServerbound("accept_teleportation");
    public static final PacketType SERVERBOUND_ATTACK = createServerbound("attack");
    public static final PacketType SERVERBOUND_BLOCK_ENTITY_TAG_QUERY = createServerbound("block_entity_tag_query");
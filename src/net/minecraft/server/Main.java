@@ -30,12 +30,21 @@ import net.minecraft.core.RegistryAccess;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.NbtException;
 import net.minecraft.nbt.ReportedNbtException;
+import net.minecraft.network.Connection;
+import net.minecraft.network.PacketCompression;
+import net.minecraft.network.PacketStatistics;
 import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.dedicated.DedicatedServer;
 import net.minecraft.server.dedicated.DedicatedServerProperties;
 import net.minecraft.server.dedicated.DedicatedServerSettings;
+import net.minecraft.server.level.ChunkHolder;
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
 import net.minecraft.server.packs.repository.PackRepository;
 import net.minecraft.server.packs.repository.ServerPacksSource;
+import net.minecraft.server.players.PlayerList;
 import net.minecraft.util.Mth;
 import net.minecraft.util.Util;
 import net.minecraft.util.datafix.DataFixers;
@@ -43,11 +52,19 @@ import net.minecraft.util.profiling.jfr.Environment;
 import net.minecraft.util.profiling.jfr.JvmProfiler;
 import net.minecraft.util.worldupdate.WorldUpgrader;
 import net.minecraft.world.Difficulty;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
 import net.minecraft.world.flag.FeatureFlags;
 import net.minecraft.world.level.GameType;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelSettings;
 import net.minecraft.world.level.WorldDataConfiguration;
+import net.minecraft.world.level.chunk.storage.ChunkDataCache;
+import net.minecraft.world.level.chunk.storage.IOWorker;
+import net.minecraft.world.level.chunk.storage.RegionCompactionStats;
+import net.minecraft.world.level.chunk.storage.RegionFile;
+import net.minecraft.world.level.chunk.storage.RegionFileStorage;
 import net.minecraft.world.level.chunk.storage.RegionFileVersion;
+import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.gamerules.GameRules;
 import net.minecraft.world.level.levelgen.WorldDimensions;
@@ -77,6 +94,7 @@ public class Main {
       OptionSpec<Void> forceUpgrade = parser.accepts("forceUpgrade");
       OptionSpec<Void> eraseCache = parser.accepts("eraseCache");
       OptionSpec<Void> recreateRegionFiles = parser.accepts("recreateRegionFiles");
+      OptionSpec<Void> compactRegionFiles = parser.accepts("compactRegionFiles", "Rewrites region files contiguously to reclaim unused sectors before loading the level");
       OptionSpec<Void> safeMode = parser.accepts("safeMode", "Loads level with vanilla datapack only");
       OptionSpec<Void> help = parser.accepts("help").forHelp();
       OptionSpec<String> universe = parser.accepts("universe").withRequiredArg().defaultsTo(".", new String[0]);
@@ -111,6 +129,20 @@ public class Main {
          DedicatedServerSettings settings = new DedicatedServerSettings(settingsFile);
          settings.forceSave();
          RegionFileVersion.configure(settings.getProperties().regionFileComression);
+         RegionFile.configureMemoryMappedReads(settings.getProperties().regionFileMemoryMappedReads);
+         RegionFile.configureJournaledWrites(settings.getProperties().regionFileJournal);
+         IOWorker.configureBatchedWrites(settings.getProperties().regionFileBatchedWrites);
+         IOWorker.configureShards(settings.getProperties().regionFileIoShards);
+         ChunkMap.configureStreamingChunkDecode(settings.getProperties().streamingChunkDecode);
+         ChunkDataCache.configure(settings.getProperties().chunkDataCacheSizeMb);
+         ChunkHolder.configureSharedChunkPackets(settings.getProperties().sharedChunkPackets);
+         PlayerList.configurePreparedBroadcasts(settings.getProperties().preparedBroadcastPackets);
+         Connection.configureCoalescedWrites(settings.getProperties().coalesceConnectionWrites);
+         PacketStatistics.configure(settings.getProperties().networkPacketStatistics);
+         PacketCompression.configure(settings.getProperties().networkCompressionBackend, settings.getProperties().networkCompressionLevel, settings.getProperties().networkCompressionPacketLevels);
+         ServerGamePacketListenerImpl.configureEntityMovementBatching(settings.getProperties().batchEntityMovement);
+         ServerLevel.configureIndexedRandomTicks(settings.getProperties().indexedRandomTicks);
+         PathNavigation.configureAsyncPathfinding(settings.getProperties().asyncPathfinding);
          Path eulaFile = Paths.get("eula.txt");
          Eula eula = new Eula(eulaFile);
          if (options.has(initSettings)) {
@@ -197,6 +229,10 @@ public class Main {
             forceUpgrade(access, DataFixers.getDataFixer(), options.has(eraseCache), () -> true, registryHolder, recreateRegionFilesValue);
          }
 
+         if (options.has(compactRegionFiles)) {
+            compactRegionFiles(access, registryHolder);
+         }
+
          access.saveDataTag(registryHolder, data);
          final DedicatedServer dedicatedServer = (DedicatedServer)MinecraftServer.spin((thread) -> {
             DedicatedServer server = new DedicatedServer(thread, access, packRepository, worldStem, settings, DataFixers.getDataFixer(), services);
@@ -268,6 +304,30 @@ public class Main {
       return new WorldLoader.InitConfig(packConfig, Commands.CommandSelection.DEDICATED, properties.functionPermissions);
    }
 
+   private static void compactRegionFiles(final LevelStorageSource.LevelStorageAccess storageSource, final RegistryAccess registryAccess) {
+      LOGGER.info("Compacting region files!");
+      RegionCompactionStats total = RegionCompactionStats.EMPTY;
+
+      for(ResourceKey<LevelStem> levelStem : registryAccess.lookupOrThrow(Registries.LEVEL_STEM).registryKeySet()) {
+         ResourceKey<Level> dimension = Registries.levelStemToLevel(levelStem);
+         Path dimensionPath = storageSource.getDimensionPath(dimension);
+         total = total.add(compactRegionFolder(new RegionStorageInfo(storageSource.getLevelId(), dimension, "chunk"), dimensionPath.resolve("region")));
+         total = total.add(compactRegionFolder(new RegionStorageInfo(storageSource.getLevelId(), dimension, "entities"), dimensionPath.resolve("entities")));
+         total = total.add(compactRegionFolder(new RegionStorageInfo(storageSource.getLevelId(), dimension, "poi"), dimensionPath.resolve("poi")));
+      }
+
+      LOGGER.info("Compacted {} region files, reclaimed {} of {} bytes", new Object[]{total.regions(), total.reclaimedBytes(), total.sizeBefore()});
+   }
+
+   private static RegionCompactionStats compactRegionFolder(final RegionStorageInfo info, final Path folder) {
+      try {
+         return RegionFileStorage.compactFolder(info, folder);
+      } catch (IOException e) {
+         LOGGER.error("Failed to compact region files in {}", folder, e);
+         return RegionCompactionStats.EMPTY;
+      }
+   }
+
    private static void forceUpgrade(final LevelStorageSource.LevelStorageAccess storageSource, final DataFixer fixerUpper, final boolean eraseCache, final BooleanSupplier isRunning, final RegistryAccess registryAccess, final boolean recreateRegionFiles) {
       LOGGER.info("Forcing world upgrade!");
 
@@ -166,6 +166,7 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.FuelValues;
 import net.minecraft.world.level.border.WorldBorder;
 import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.chunk.storage.ChunkDataCache;
 import net.minecraft.world.level.chunk.storage.ChunkIOErrorReporter;
 import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.dimension.LevelStem;
@@ -1840,6 +1841,10 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop implem
          output.write(String.format(Locale.ROOT, "average_tick_time: %f\n", this.getCurrentSmoothedTickTime()));
          output.write(String.format(Locale.ROOT, "tick_times: %s\n", Arrays.toString(this.tickTimesNanos)));
          output.write(String.format(Locale.ROOT, "queue: %s\n", Util.backgroundExecutor()));
+         ChunkDataCache chunkDataCache = ChunkDataCache.get();
+         if (chunkDataCache != null) {
+            output.write(String.format(Locale.ROOT, "chunk_data_cache: %s\n", chunkDataCache));
+         }
       } catch (Throwable var6) {
          if (output != null) {
             try {
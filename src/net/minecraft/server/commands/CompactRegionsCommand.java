@@ -0,0 +1,47 @@
+package net.minecraft.server.commands;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.logging.LogUtils;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.chunk.storage.RegionCompactionStats;
+import org.slf4j.Logger;
+
+public class CompactRegionsCommand {
+   private static final Logger LOGGER = LogUtils.getLogger();
+
+   public static void register(final CommandDispatcher dispatcher) {
+      dispatcher.register((LiteralArgumentBuilder)((LiteralArgumentBuilder)Commands.literal("compact-regions").requires(Commands.hasPermission(Commands.LEVEL_OWNERS))).executes((c) -> compactRegions((CommandSourceStack)c.getSource())));
+   }
+
+   private static int compactRegions(final CommandSourceStack source) {
+      source.sendSuccess(() -> Component.translatable("commands.compactregions.started"), true);
+      MinecraftServer server = source.getServer();
+      CompletableFuture<RegionCompactionStats> result = CompletableFuture.completedFuture(RegionCompactionStats.EMPTY);
+
+      for(ServerLevel level : server.getAllLevels()) {
+         result = result.thenCombine(level.compactRegions(), RegionCompactionStats::add);
+      }
+
+      result.whenCompleteAsync((stats, error) -> {
+         if (error != null) {
+            LOGGER.error("Failed to compact region files", error);
+            source.sendFailure(Component.translatable("commands.compactregions.failed"));
+         } else {
+            source.sendSuccess(() -> Component.translatable("commands.compactregions.success", stats.regions(), formatMegabytes(stats.reclaimedBytes()), formatMegabytes(stats.sizeBefore())), true);
+         }
+
+      }, server);
+      return 1;
+   }
+
+   private static String formatMegabytes(final long bytes) {
+      return String.format(Locale.ROOT, "%.1f", (double)bytes / 1048576.0);
+   }
+}
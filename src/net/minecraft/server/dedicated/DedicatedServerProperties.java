@@ -94,11 +94,27 @@ public class DedicatedServerProperties extends Settings {
    public final Settings.MutableValue simulationDistance;
    public final Settings.MutableValue maxPlayers;
    public final int networkCompressionThreshold;
+   public final String networkCompressionBackend;
+   public final int networkCompressionLevel;
+   public final String networkCompressionPacketLevels;
    public final boolean broadcastRconToOps;
    public final boolean broadcastConsoleToOps;
    public final int maxWorldSize;
    public final boolean syncChunkWrites;
    public final String regionFileComression;
+   public final boolean regionFileMemoryMappedReads;
+   public final boolean regionFileBatchedWrites;
+   public final boolean regionFileJournal;
+   public final int regionFileIoShards;
+   public final boolean streamingChunkDecode;
+   public final int chunkDataCacheSizeMb;
+   public final boolean sharedChunkPackets;
+   public final boolean preparedBroadcastPackets;
+   public final boolean coalesceConnectionWrites;
+   public final boolean networkPacketStatistics;
+   public final boolean batchEntityMovement;
+   public final boolean indexedRandomTicks;
+   public final boolean asyncPathfinding;
    public final boolean enableJmxMonitoring;
    public final Settings.MutableValue enableStatus;
    public final Settings.MutableValue hideOnlinePlayers;
@@ -149,11 +165,27 @@ public class DedicatedServerProperties extends Settings {
       this.simulationDistance = this.getMutable("simulation-distance", 10);
       this.maxPlayers = this.getMutable("max-players", 20);
       this.networkCompressionThreshold = this.get("network-compression-threshold", 256);
+      this.networkCompressionBackend = this.get("network-compression-backend", "heap");
+      this.networkCompressionLevel = this.get("network-compression-level", (v) -> Mth.clamp(v, -1, 9), -1);
+      this.networkCompressionPacketLevels = this.get("network-compression-packet-levels", "");
       this.broadcastRconToOps = this.get("broadcast-rcon-to-ops", true);
       this.broadcastConsoleToOps = this.get("broadcast-console-to-ops", true);
       this.maxWorldSize = this.get("max-world-size", (v) -> Mth.clamp(v, 1, 29999984), 29999984);
       this.syncChunkWrites = this.get("sync-chunk-writes", true);
       this.regionFileComression = this.get("region-file-compression", "deflate");
+      this.regionFileMemoryMappedReads = this.get("region-file-memory-mapped-reads", false);
+      this.regionFileBatchedWrites = this.get("region-file-batched-writes", false);
+      this.regionFileJournal = this.get("region-file-journal", false);
+      this.regionFileIoShards = this.get("region-file-io-shards", (v) -> Mth.clamp(v, 1, 64), 1);
+      this.streamingChunkDecode = this.get("streaming-chunk-decode", false);
+      this.chunkDataCacheSizeMb = this.get("chunk-data-cache-size-mb", (v) -> Mth.clamp(v, 0, 16384), 0);
+      this.sharedChunkPackets = this.get("shared-chunk-packets", false);
+      this.preparedBroadcastPackets = this.get("prepared-broadcast-packets", false);
+      this.coalesceConnectionWrites = this.get("coalesce-connection-writes", false);
+      this.networkPacketStatistics = this.get("network-packet-statistics", false);
+      this.batchEntityMovement = this.get("batch-entity-movement", false);
+      this.indexedRandomTicks = this.get("indexed-random-ticks", false);
+      this.asyncPathfinding = this.get("async-pathfinding", false);
       this.enableJmxMonitoring = this.get("enable-jmx-monitoring", false);
       this.enableStatus = this.getMutable("enable-status", true);
       this.hideOnlinePlayers = this.getMutable("hide-online-players", false);
@@ -8,6 +8,7 @@ import net.minecraft.server.jsonrpc.methods.BanlistService;
 import net.minecraft.server.jsonrpc.methods.DiscoveryService;
 import net.minecraft.server.jsonrpc.methods.GameRulesService;
 import net.minecraft.server.jsonrpc.methods.IpBanlistService;
+import net.minecraft.server.jsonrpc.methods.NetworkStatsService;
 import net.minecraft.server.jsonrpc.methods.OperatorService;
 import net.minecraft.server.jsonrpc.methods.PlayerService;
 import net.minecraft.server.jsonrpc.methods.ServerSettingsService;
@@ -67,6 +68,7 @@ public class IncomingRpcMethods {
       IncomingRpcMethod.method(ServerStateService::status).description("Get server status").response("status", Schema.SERVER_STATE_SCHEMA.asRef()).register(methodRegistry, "server/status");
       IncomingRpcMethod.method(ServerStateService::save).description("Save server state").param("flush", Schema.BOOL_SCHEMA).response("saving", Schema.BOOL_SCHEMA).register(methodRegistry, "server/save");
       IncomingRpcMethod.method(ServerStateService::stop).description("Stop server").response("stopping", Schema.BOOL_SCHEMA).register(methodRegistry, "server/stop");
+      IncomingRpcMethod.method(NetworkStatsService::get).description("Get per-packet-type network statistics for the server and each connected player").response("stats", Schema.NETWORK_STATS_SCHEMA.asRef()).register(methodRegistry, "server/network_stats");
       IncomingRpcMethod.method(ServerStateService::systemMessage).description("Send a system message").param("message", Schema.SYSTEM_MESSAGE_SCHEMA.asRef()).response("sent", Schema.BOOL_SCHEMA).register(methodRegistry, "server/system_message");
    }
 
@@ -18,6 +18,7 @@ import net.minecraft.server.jsonrpc.methods.DiscoveryService;
 import net.minecraft.server.jsonrpc.methods.GameRulesService;
 import net.minecraft.server.jsonrpc.methods.IpBanlistService;
 import net.minecraft.server.jsonrpc.methods.Message;
+import net.minecraft.server.jsonrpc.methods.NetworkStatsService;
 import net.minecraft.server.jsonrpc.methods.OperatorService;
 import net.minecraft.server.jsonrpc.methods.PlayerService;
 import net.minecraft.server.jsonrpc.methods.ServerStateService;
@@ -33,6 +34,7 @@ public record Schema(Optional reference, List type, Optional items, Map properti
    private static final List SCHEMA_REGISTRY = new ArrayList();
    public static final Schema BOOL_SCHEMA;
    public static final Schema INT_SCHEMA;
+   public static final Schema LONG_SCHEMA;
    public static final Schema BOOL_OR_INT_SCHEMA;
    public static final Schema NUMBER_SCHEMA;
    public static final Schema STRING_SCHEMA;
@@ -54,6 +56,9 @@ public record Schema(Optional reference, List type, Optional items, Map properti
    public static final SchemaComponent INCOMING_IP_BAN_SCHEMA;
    public static final SchemaComponent IP_BAN_SCHEMA;
    public static final SchemaComponent PLAYER_BAN_SCHEMA;
+   public static final SchemaComponent PACKET_TYPE_STATS_SCHEMA;
+   public static final SchemaComponent PLAYER_NETWORK_STATS_SCHEMA;
+   public static final SchemaComponent NETWORK_STATS_SCHEMA;
 
    public static Codec typedCodec() {
       return CODEC;
@@ -123,6 +128,7 @@ public record Schema(Optional reference, List type, Optional items, Map properti
    static {
       BOOL_SCHEMA = ofType("boolean", Codec.BOOL);
       INT_SCHEMA = ofType("integer", Codec.INT);
+      LONG_SCHEMA = ofType("integer", Codec.LONG);
       BOOL_OR_INT_SCHEMA = ofTypes(List.of("boolean", "integer"), Codec.either(Codec.BOOL, Codec.INT));
       NUMBER_SCHEMA = ofType("number", Codec.FLOAT);
       STRING_SCHEMA = ofType("string", Codec.STRING);
@@ -144,5 +150,8 @@ public record Schema(Optional reference, List type, Optional items, Map properti
       INCOMING_IP_BAN_SCHEMA = registerSchema("incoming_ip_ban", record(IpBanlistService.IncomingIpBanDto.CODEC.codec()).withField("player", PLAYER_SCHEMA.asRef()).withField("ip", STRING_SCHEMA).withField("reason", STRING_SCHEMA).withField("source", STRING_SCHEMA).withField("expires", STRING_SCHEMA));
       IP_BAN_SCHEMA = registerSchema("ip_ban", record(IpBanlistService.IpBanDto.CODEC.codec()).withField("ip", STRING_SCHEMA).withField("reason", STRING_SCHEMA).withField("source", STRING_SCHEMA).withField("expires", STRING_SCHEMA));
       PLAYER_BAN_SCHEMA = registerSchema("user_ban", record(BanlistService.UserBanDto.CODEC.codec()).withField("player", PLAYER_SCHEMA.asRef()).withField("reason", STRING_SCHEMA).withField("source", STRING_SCHEMA).withField("expires", STRING_SCHEMA));
+      PACKET_TYPE_STATS_SCHEMA = registerSchema("packet_type_stats", record(NetworkStatsService.PacketTypeStats.CODEC).withField("packetId", STRING_SCHEMA).withField("direction", STRING_SCHEMA).withField("packets", LONG_SCHEMA).withField("encodedBytes", LONG_SCHEMA).withField("compressedBytes", LONG_SCHEMA).withField("encodeNanos", LONG_SCHEMA));
+      PLAYER_NETWORK_STATS_SCHEMA = registerSchema("player_network_stats", record(NetworkStatsService.PlayerNetworkStats.CODEC).withField("player", PLAYER_SCHEMA.asRef()).withField("packets", PACKET_TYPE_STATS_SCHEMA.asRef().asArray()));
+      NETWORK_STATS_SCHEMA = registerSchema("network_stats", record(NetworkStatsService.NetworkStats.CODEC).withField("enabled", BOOL_SCHEMA).withField("global", PACKET_TYPE_STATS_SCHEMA.asRef().asArray()).withField("players", PLAYER_NETWORK_STATS_SCHEMA.asRef().asArray()));
    }
 }
@@ -0,0 +1,46 @@
+package net.minecraft.server.jsonrpc.methods;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.network.PacketStatistics;
+import net.minecraft.server.jsonrpc.api.PlayerDto;
+import net.minecraft.server.jsonrpc.internalapi.MinecraftApi;
+import net.minecraft.server.level.ServerPlayer;
+
+public class NetworkStatsService {
+   public static NetworkStats get(final MinecraftApi minecraftApi) {
+      if (!PacketStatistics.isEnabled()) {
+         return NetworkStatsService.NetworkStats.DISABLED;
+      } else {
+         List<PlayerNetworkStats> players = new ArrayList();
+
+         for(ServerPlayer player : minecraftApi.playerListService().getPlayers()) {
+            PacketStatistics statistics = player.connection.getPacketStatistics();
+            if (statistics != null) {
+               players.add(new PlayerNetworkStats(PlayerDto.from(player), PacketTypeStats.fromAll(statistics)));
+            }
+         }
+
+         return new NetworkStats(true, PacketTypeStats.fromAll(PacketStatistics.GLOBAL), players);
+      }
+   }
+
+   public static record PacketTypeStats(String packetId, String direction, long packets, long encodedBytes, long compressedBytes, long encodeNanos) {
+      public static final Codec CODEC = RecordCodecBuilder.create((i) -> i.group(Codec.STRING.fieldOf("packetId").forGetter(PacketTypeStats::packetId), Codec.STRING.fieldOf("direction").forGetter(PacketTypeStats::direction), Codec.LONG.fieldOf("packets").forGetter(PacketTypeStats::packets), Codec.LONG.fieldOf("encodedBytes").forGetter(PacketTypeStats::encodedBytes), Codec.LONG.fieldOf("compressedBytes").forGetter(PacketTypeStats::compressedBytes), Codec.LONG.fieldOf("encodeNanos").forGetter(PacketTypeStats::encodeNanos)).apply(i, PacketTypeStats::new));
+
+      private static List fromAll(final PacketStatistics statistics) {
+         return statistics.snapshot().stream().map((entry) -> new PacketTypeStats(entry.type().id().toString(), entry.type().flow().id(), entry.packets(), entry.encodedBytes(), entry.compressedBytes(), entry.encodeNanos())).toList();
+      }
+   }
+
+   public static record PlayerNetworkStats(PlayerDto player, List packets) {
+      public static final Codec CODEC = RecordCodecBuilder.create((i) -> i.group(PlayerDto.CODEC.codec().fieldOf("player").forGetter(PlayerNetworkStats::player), NetworkStatsService.PacketTypeStats.CODEC.listOf().fieldOf("packets").forGetter(PlayerNetworkStats::packets)).apply(i, PlayerNetworkStats::new));
+   }
+
+   public static record NetworkStats(boolean enabled, List global, List players) {
+      public static final Codec CODEC = RecordCodecBuilder.create((i) -> i.group(Codec.BOOL.fieldOf("enabled").forGetter(NetworkStats::enabled), NetworkStatsService.PacketTypeStats.CODEC.listOf().lenientOptionalFieldOf("global", List.of()).forGetter(NetworkStats::global), NetworkStatsService.PlayerNetworkStats.CODEC.listOf().lenientOptionalFieldOf("players", List.of()).forGetter(NetworkStats::players)).apply(i, NetworkStats::new));
+      public static final NetworkStats DISABLED = new NetworkStats(false, List.of(), List.of());
+   }
+}
@@ -10,10 +10,14 @@ import java.util.function.IntConsumer;
 import java.util.function.IntSupplier;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
+import net.minecraft.network.PreparedPacket;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.ClientboundLightUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraft.server.players.PlayerList;
 import net.minecraft.util.Util;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
@@ -31,6 +35,7 @@ import org.jspecify.annotations.Nullable;
 public class ChunkHolder extends GenerationChunkHolder {
    public static final ChunkResult UNLOADED_LEVEL_CHUNK = ChunkResult.error("Unloaded level chunk");
    private static final CompletableFuture UNLOADED_LEVEL_CHUNK_FUTURE;
+   private static volatile boolean sharedChunkPackets;
    private final LevelHeightAccessor levelHeightAccessor;
    private volatile CompletableFuture fullChunkFuture;
    private volatile CompletableFuture tickingChunkFuture;
@@ -49,6 +54,8 @@ public class ChunkHolder extends GenerationChunkHolder {
    private CompletableFuture pendingFullStateConfirmation;
    private CompletableFuture sendSync;
    private CompletableFuture saveSync;
+   private @Nullable PreparedPacket preparedChunkPacket;
+   private long preparedChunkPacketTime;
 
    public ChunkHolder(final ChunkPos pos, final int ticketLevel, final LevelHeightAccessor levelHeightAccessor, final LevelLightEngine lightEngine, final LevelChangeListener onLevelChange, final PlayerProvider playerProvider) {
       super(pos);
@@ -91,6 +98,50 @@ public class ChunkHolder extends GenerationChunkHolder {
       return !this.sendSync.isDone() ? null : this.getTickingChunk();
    }
 
+   public static void configureSharedChunkPackets(final boolean enabled) {
+      sharedChunkPackets = enabled;
+   }
+
+   public static boolean sharedChunkPackets() {
+      return sharedChunkPackets;
+   }
+
+   public boolean sendChunkPacket(final ServerGamePacketListenerImpl connection, final LevelChunk chunk, final PlayerList playerList, final boolean pendingForOthers, final long gameTime) {
+      if (this.preparedChunkPacket == null && pendingForOthers) {
+         PreparedPacket prepared = playerList.preparePacket(new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet)null, (BitSet)null));
+         if (prepared != null) {
+            this.preparedChunkPacket = prepared.withoutPacket();
+            this.preparedChunkPacketTime = gameTime;
+         }
+      }
+
+      if (this.preparedChunkPacket == null || !connection.trySend(this.preparedChunkPacket)) {
+         connection.send(new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet)null, (BitSet)null));
+      }
+
+      if (!pendingForOthers) {
+         this.invalidateChunkPacket();
+      }
+
+      return this.preparedChunkPacket != null;
+   }
+
+   public boolean releaseExpiredChunkPacket(final long gameTime) {
+      if (this.preparedChunkPacket != null && gameTime - this.preparedChunkPacketTime >= 100L) {
+         this.invalidateChunkPacket();
+      }
+
+      return this.preparedChunkPacket == null;
+   }
+
+   public void invalidateChunkPacket() {
+      if (this.preparedChunkPacket != null) {
+         this.preparedChunkPacket.release();
+         this.preparedChunkPacket = null;
+      }
+
+   }
+
    public CompletableFuture getSendSyncFuture() {
       return this.sendSync;
    }
@@ -122,6 +173,7 @@ public class ChunkHolder extends GenerationChunkHolder {
    }
 
    public boolean blockChanged(final BlockPos pos) {
+      this.invalidateChunkPacket();
       LevelChunk chunk = this.getTickingChunk();
       if (chunk == null) {
          return false;
@@ -141,6 +193,7 @@ public class ChunkHolder extends GenerationChunkHolder {
    }
 
    public boolean sectionLightChanged(final LightLayer layer, final int chunkY) {
+      this.invalidateChunkPacket();
       ChunkAccess chunk = this.getChunkIfPresent(ChunkStatus.INITIALIZE_LIGHT);
       if (chunk == null) {
          return false;
@@ -15,16 +15,26 @@ import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.ObjectBidirectionalIterator;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -57,12 +67,18 @@ import net.minecraft.core.RegistryAccess;
 import net.minecraft.core.SectionPos;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.NbtException;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.network.PreparedPacket;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundChunksBiomesPacket;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.ClientboundSetChunkCacheCenterPacket;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
 import net.minecraft.server.network.ServerPlayerConnection;
 import net.minecraft.util.CsvOutput;
 import net.minecraft.util.Mth;
@@ -96,6 +112,7 @@ import net.minecraft.world.level.chunk.status.WorldGenContext;
 import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.chunk.storage.SerializableChunkData;
 import net.minecraft.world.level.chunk.storage.SimpleRegionStorage;
+import net.minecraft.world.level.chunk.storage.StreamingChunkDataParser;
 import net.minecraft.world.level.entity.ChunkStatusUpdateListener;
 import net.minecraft.world.level.entity.EntityAccess;
 import net.minecraft.world.level.gamerules.GameRules;
@@ -124,6 +141,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
    private static final int CHUNK_SAVED_EAGERLY_PER_TICK = 20;
    private static final int EAGER_CHUNK_SAVE_COOLDOWN_IN_MILLIS = 10000;
    private static final int MAX_ACTIVE_CHUNK_WRITES = 128;
+   private static volatile boolean streamingChunkDecode;
    public static final int MIN_VIEW_DISTANCE = 2;
    public static final int MAX_VIEW_DISTANCE = 32;
    public static final int FORCED_TICKET_LEVEL;
@@ -139,6 +157,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
    private final TicketStorage ticketStorage;
    private final PoiManager poiManager;
    private final LongSet toDrop;
+   private final Set holdersWithChunkPackets = new ReferenceOpenHashSet();
    private boolean modified;
    private final ChunkTaskDispatcher worldgenTaskDispatcher;
    private final ChunkTaskDispatcher lightTaskDispatcher;
@@ -147,6 +166,8 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
    private final String storageName;
    private final PlayerMap playerMap;
    private final Int2ObjectMap entityMap;
+   private final Long2ObjectMap entitiesByChunk;
+   private final Map entitiesTrackedByPlayer;
    private final Long2ByteMap chunkTypeCache;
    private final Long2LongMap nextChunkSaveTime;
    private final LongSet chunksToEagerlySave;
@@ -163,6 +184,8 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
       this.toDrop = new LongOpenHashSet();
       this.playerMap = new PlayerMap();
       this.entityMap = new Int2ObjectOpenHashMap();
+      this.entitiesByChunk = new Long2ObjectOpenHashMap();
+      this.entitiesTrackedByPlayer = new Reference2ObjectOpenHashMap();
       this.chunkTypeCache = new Long2ByteOpenHashMap();
       this.nextChunkSaveTime = new Long2LongOpenHashMap();
       this.chunksToEagerlySave = new LongLinkedOpenHashSet();
@@ -433,6 +456,8 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
          this.processUnloads(haveTime);
       }
 
+      profiler.popPush("chunk_packets");
+      this.releaseExpiredChunkPackets();
       profiler.pop();
    }
 
@@ -493,6 +518,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
          } else {
             ChunkAccess chunk = chunkHolder.getLatestChunk();
             if (this.pendingUnloads.remove(pos, chunkHolder) && chunk != null) {
+               chunkHolder.invalidateChunkPacket();
                if (chunk instanceof LevelChunk) {
                   LevelChunk levelChunk = (LevelChunk)chunk;
                   levelChunk.setLoaded(false);
@@ -531,15 +557,12 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
       }
    }
 
-   private CompletableFuture scheduleChunkLoad(final ChunkPos pos) {
-      CompletableFuture<Optional<SerializableChunkData>> chunkDataFuture = this.readChunk(pos).thenApplyAsync((chunkData) -> chunkData.map((tag) -> {
-            SerializableChunkData parsedData = SerializableChunkData.parse(this.level, this.level.palettedContainerFactory(), tag);
-            if (parsedData == null) {
-               LOGGER.error("Chunk file at {} is missing level data, skipping", pos);
-            }
+   public static void configureStreamingChunkDecode(final boolean enabled) {
+      streamingChunkDecode = enabled;
+   }
 
-            return parsedData;
-         }), Util.backgroundExecutor().forName("parseChunk"));
+   private CompletableFuture scheduleChunkLoad(final ChunkPos pos) {
+      CompletableFuture<Optional<SerializableChunkData>> chunkDataFuture = streamingChunkDecode ? this.readAndParseChunkStreaming(pos) : this.readAndParseChunk(pos);
       CompletableFuture<?> poiFuture = this.poiManager.prefetch(pos);
       return chunkDataFuture.thenCombine(poiFuture, (chunkData, ignored) -> chunkData).thenApplyAsync((chunkData) -> {
          Profiler.get().incrementCounter("chunkLoad");
@@ -553,6 +576,46 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
       }, this.mainThreadExecutor).exceptionallyAsync((throwable) -> this.handleChunkLoadFailure(throwable, pos), this.mainThreadExecutor);
    }
 
+   private CompletableFuture readAndParseChunk(final ChunkPos pos) {
+      return this.readChunk(pos).thenApplyAsync((chunkData) -> chunkData.map((tag) -> {
+            SerializableChunkData parsedData = SerializableChunkData.parse(this.level, this.level.palettedContainerFactory(), tag);
+            if (parsedData == null) {
+               LOGGER.error("Chunk file at {} is missing level data, skipping", pos);
+            }
+
+            return parsedData;
+         }), Util.backgroundExecutor().forName("parseChunk"));
+   }
+
+   private CompletableFuture readAndParseChunkStreaming(final ChunkPos pos) {
+      return this.readBytes(pos).thenApplyAsync((chunkBytes) -> ((Optional<byte[]>)chunkBytes).map((bytes) -> {
+            try {
+               return this.parseChunkStreaming(pos, bytes);
+            } catch (IOException e) {
+               throw new CompletionException(e);
+            }
+         }), Util.backgroundExecutor().forName("parseChunk"));
+   }
+
+   private @Nullable SerializableChunkData parseChunkStreaming(final ChunkPos pos, final byte[] bytes) throws IOException {
+      StreamingChunkDataParser parser = new StreamingChunkDataParser(this.level, this.level.palettedContainerFactory(), this.level.registryAccess().lookupOrThrow(Registries.BIOME));
+      NbtIo.parse(new DataInputStream(new ByteArrayInputStream(bytes)), parser, NbtAccounter.unlimitedHeap());
+      CompoundTag remainingTag = parser.remainingTag();
+      SerializableChunkData parsedData;
+      if (parser.isComplete() && remainingTag != null && NbtUtils.getDataVersion(remainingTag, -1) >= SharedConstants.getCurrentVersion().dataVersion().version()) {
+         parsedData = parser.build();
+      } else {
+         CompoundTag tag = this.upgradeChunkTag(NbtIo.read((DataInput)(new DataInputStream(new ByteArrayInputStream(bytes)))));
+         parsedData = SerializableChunkData.parse(this.level, this.level.palettedContainerFactory(), tag);
+      }
+
+      if (parsedData == null) {
+         LOGGER.error("Chunk file at {} is missing level data, skipping", pos);
+      }
+
+      return parsedData;
+   }
+
    private ChunkAccess handleChunkLoadFailure(final Throwable throwable, final ChunkPos pos) {
       Throwable var10000;
       if (throwable instanceof CompletionException e) {
@@ -808,10 +871,10 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
       return Mth.clamp(player.requestedViewDistance(), 2, this.serverViewDistance);
    }
 
-   private void markChunkPendingToSend(final ServerPlayer player, final ChunkPos pos) {
-      LevelChunk chunk = this.getChunkToSend(pos.pack());
-      if (chunk != null) {
-         markChunkPendingToSend(player, chunk);
+   private void collectChunkToSend(final LongList chunksToSend, final ChunkPos pos) {
+      long key = pos.pack();
+      if (this.getChunkToSend(key) != null) {
+         chunksToSend.add(key);
       }
 
    }
@@ -829,6 +892,36 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
       return chunkHolder == null ? null : chunkHolder.getChunkToSend();
    }
 
+   public void sendChunkPacket(final ServerGamePacketListenerImpl connection, final LevelChunk chunk) {
+      ChunkHolder chunkHolder = ChunkHolder.sharedChunkPackets() ? this.getVisibleChunkIfPresent(chunk.getPos().pack()) : null;
+      if (chunkHolder == null) {
+         connection.send(new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet)null, (BitSet)null));
+      } else if (chunkHolder.sendChunkPacket(connection, chunk, this.level.getServer().getPlayerList(), this.isPendingForOtherPlayer(chunk.getPos(), connection.player), this.level.getGameTime())) {
+         this.holdersWithChunkPackets.add(chunkHolder);
+      }
+
+   }
+
+   private boolean isPendingForOtherPlayer(final ChunkPos pos, final ServerPlayer sender) {
+      long key = pos.pack();
+
+      for(ServerPlayer player : this.playerMap.getAllPlayers()) {
+         if (player != sender && player.connection.chunkSender.isPending(key)) {
+            return true;
+         }
+      }
+
+      return false;
+   }
+
+   private void releaseExpiredChunkPackets() {
+      if (!this.holdersWithChunkPackets.isEmpty()) {
+         long gameTime = this.level.getGameTime();
+         this.holdersWithChunkPackets.removeIf((chunkHolder) -> chunkHolder.releaseExpiredChunkPacket(gameTime));
+      }
+
+   }
+
    public int size() {
       return this.visibleChunkMap.size();
    }
@@ -1014,15 +1107,13 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
    }
 
    public void move(final ServerPlayer player) {
-      ObjectIterator var2 = this.entityMap.values().iterator();
+      TrackedEntity playerEntity = (TrackedEntity)this.entityMap.get(player.getId());
+      if (playerEntity != null) {
+         playerEntity.updatePlayers(this.level.players());
+      }
 
-      while(var2.hasNext()) {
-         TrackedEntity trackedEntity = (TrackedEntity)var2.next();
-         if (trackedEntity.entity == player) {
-            trackedEntity.updatePlayers(this.level.players());
-         } else {
-            trackedEntity.updatePlayer(player);
-         }
+      for(TrackedEntity trackedEntity : this.getTrackingCandidates(player)) {
+         trackedEntity.updatePlayer(player);
       }
 
       SectionPos oldSection = player.getLastSectionPos();
@@ -1083,7 +1174,12 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
             }
          }
 
-         ChunkTrackingView.difference(previous, next, (pos) -> this.markChunkPendingToSend(player, pos), (pos) -> dropChunk(player, pos));
+         LongList chunksToSend = new LongArrayList();
+         ChunkTrackingView.difference(previous, next, (pos) -> this.collectChunkToSend(chunksToSend, pos), (pos) -> dropChunk(player, pos));
+         if (!chunksToSend.isEmpty()) {
+            player.connection.chunkSender.markChunksPendingToSend(chunksToSend);
+         }
+
          player.setChunkTrackingView(next);
       }
    }
@@ -1112,14 +1208,13 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
             } else {
                TrackedEntity trackedEntity = new TrackedEntity(entity, range, updateInterval, type.trackDeltas());
                this.entityMap.put(entity.getId(), trackedEntity);
+               this.indexTrackedEntity(trackedEntity, trackedEntity.lastSectionPos);
                trackedEntity.updatePlayers(this.level.players());
                if (entity instanceof ServerPlayer) {
                   ServerPlayer player = (ServerPlayer)entity;
                   this.updatePlayerStatus(player, true);
-                  ObjectIterator var7 = this.entityMap.values().iterator();
 
-                  while(var7.hasNext()) {
-                     TrackedEntity e = (TrackedEntity)var7.next();
+                  for(TrackedEntity e : this.getTrackingCandidates(player)) {
                      if (e.entity != player) {
                         e.updatePlayer(player);
                      }
@@ -1134,16 +1229,17 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
    protected void removeEntity(final Entity entity) {
       if (entity instanceof ServerPlayer player) {
          this.updatePlayerStatus(player, false);
-         ObjectIterator var3 = this.entityMap.values().iterator();
-
-         while(var3.hasNext()) {
-            TrackedEntity trackedEntity = (TrackedEntity)var3.next();
-            trackedEntity.removePlayer(player);
+         Set<TrackedEntity> trackedEntities = (Set)this.entitiesTrackedByPlayer.remove(player);
+         if (trackedEntities != null) {
+            for(TrackedEntity trackedEntity : trackedEntities) {
+               trackedEntity.removePlayer(player);
+            }
          }
       }
 
       TrackedEntity trackedEntity = (TrackedEntity)this.entityMap.remove(entity.getId());
       if (trackedEntity != null) {
+         this.unindexTrackedEntity(trackedEntity, trackedEntity.lastSectionPos);
          trackedEntity.broadcastRemoved();
       }
 
@@ -1170,6 +1266,11 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
                movedPlayers.add((ServerPlayer)entity);
             }
 
+            if (oldPos.x() != newPos.x() || oldPos.z() != newPos.z()) {
+               this.unindexTrackedEntity(trackedEntity, oldPos);
+               this.indexTrackedEntity(trackedEntity, newPos);
+            }
+
             trackedEntity.lastSectionPos = newPos;
          }
 
@@ -1178,17 +1279,54 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
          }
       }
 
-      if (!movedPlayers.isEmpty()) {
-         var3 = this.entityMap.values().iterator();
-
-         while(var3.hasNext()) {
-            TrackedEntity trackedEntity = (TrackedEntity)var3.next();
-            trackedEntity.updatePlayers(movedPlayers);
+      for(ServerPlayer player : movedPlayers) {
+         for(TrackedEntity trackedEntity : this.getTrackingCandidates(player)) {
+            trackedEntity.updatePlayer(player);
          }
       }
 
    }
 
+   private void indexTrackedEntity(final TrackedEntity trackedEntity, final SectionPos pos) {
+      ((Set)this.entitiesByChunk.computeIfAbsent(ChunkPos.pack(pos.x(), pos.z()), (k) -> new ReferenceOpenHashSet())).add(trackedEntity);
+   }
+
+   private void unindexTrackedEntity(final TrackedEntity trackedEntity, final SectionPos pos) {
+      long key = ChunkPos.pack(pos.x(), pos.z());
+      Set<TrackedEntity> entities = (Set)this.entitiesByChunk.get(key);
+      if (entities != null && entities.remove(trackedEntity) && entities.isEmpty()) {
+         this.entitiesByChunk.remove(key);
+      }
+
+   }
+
+   private Collection getTrackingCandidates(final ServerPlayer player) {
+      int radius = this.getPlayerViewDistance(player) + 1;
+      int diameter = radius * 2 + 1;
+      if (this.entityMap.size() <= diameter * diameter) {
+         return new ArrayList(this.entityMap.values());
+      } else {
+         Set<TrackedEntity> candidates = new ReferenceOpenHashSet();
+         Set<TrackedEntity> trackedEntities = (Set)this.entitiesTrackedByPlayer.get(player);
+         if (trackedEntities != null) {
+            candidates.addAll(trackedEntities);
+         }
+
+         SectionPos center = SectionPos.of((EntityAccess)player);
+
+         for(int x = center.x() - radius; x <= center.x() + radius; ++x) {
+            for(int z = center.z() - radius; z <= center.z() + radius; ++z) {
+               Set<TrackedEntity> entities = (Set)this.entitiesByChunk.get(ChunkPos.pack(x, z));
+               if (entities != null) {
+                  candidates.addAll(entities);
+               }
+            }
+         }
+
+         return candidates;
+      }
+   }
+
    public void sendToTrackingPlayers(final Entity entity, final Packet packet) {
       TrackedEntity trackedEntity = (TrackedEntity)this.entityMap.get(entity.getId());
       if (trackedEntity != null) {
@@ -1223,11 +1361,9 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
    }
 
    public void forEachEntityTrackedBy(final ServerPlayer player, final Consumer consumer) {
-      ObjectIterator var3 = this.entityMap.values().iterator();
-
-      while(var3.hasNext()) {
-         TrackedEntity entity = (TrackedEntity)var3.next();
-         if (entity.seenBy.contains(player.connection)) {
+      Set<TrackedEntity> trackedEntities = (Set)this.entitiesTrackedByPlayer.get(player);
+      if (trackedEntities != null) {
+         for(TrackedEntity entity : List.copyOf(trackedEntities)) {
             consumer.accept(entity.entity);
          }
       }
@@ -1239,6 +1375,11 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
 
       for(ChunkAccess chunkAccess : chunks) {
          ChunkPos pos = chunkAccess.getPos();
+         ChunkHolder chunkHolder = this.getVisibleChunkIfPresent(pos.pack());
+         if (chunkHolder != null) {
+            chunkHolder.invalidateChunkPacket();
+         }
+
          LevelChunk chunk;
          if (chunkAccess instanceof LevelChunk levelChunk) {
             chunk = levelChunk;
@@ -1345,8 +1486,19 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
       }
 
       public void sendToTrackingPlayers(final Packet packet) {
-         for(ServerPlayerConnection connection : this.seenBy) {
-            connection.send(packet);
+         PreparedPacket prepared = ServerGamePacketListenerImpl.batchesEntityMovement(packet) ? null : ChunkMap.this.level.getServer().getPlayerList().prepareBroadcast(packet, this.seenBy.size());
+         if (prepared == null) {
+            for(ServerPlayerConnection connection : this.seenBy) {
+               connection.send(packet);
+            }
+         } else {
+            try {
+               for(ServerPlayerConnection connection : this.seenBy) {
+                  connection.send(prepared);
+               }
+            } finally {
+               prepared.release();
+            }
          }
 
       }
@@ -1371,7 +1523,12 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
 
       public void broadcastRemoved() {
          for(ServerPlayerConnection connection : this.seenBy) {
-            this.serverEntity.removePairing(connection.getPlayer());
+            ServerPlayer player = connection.getPlayer();
+            this.serverEntity.removePairing(player);
+            Set<TrackedEntity> trackedEntities = (Set)ChunkMap.this.entitiesTrackedByPlayer.get(player);
+            if (trackedEntities != null) {
+               trackedEntities.remove(this);
+            }
          }
 
       }
@@ -1379,6 +1536,11 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
       public void removePlayer(final ServerPlayer player) {
          if (this.seenBy.remove(player.connection)) {
             this.serverEntity.removePairing(player);
+            Set<TrackedEntity> trackedEntities = (Set)ChunkMap.this.entitiesTrackedByPlayer.get(player);
+            if (trackedEntities != null) {
+               trackedEntities.remove(this);
+            }
+
             if (this.seenBy.isEmpty()) {
                ChunkMap.this.level.debugSynchronizers().dropEntity(this.entity);
             }
@@ -1396,6 +1558,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
             boolean visibleToPlayer = distanceSquared <= rangeSquared && this.entity.broadcastToPlayer(player) && ChunkMap.this.isChunkTracked(player, this.entity.chunkPosition().x(), this.entity.chunkPosition().z());
             if (visibleToPlayer) {
                if (this.seenBy.add(player.connection)) {
+                  ((Set)ChunkMap.this.entitiesTrackedByPlayer.computeIfAbsent(player, (p) -> new ReferenceOpenHashSet())).add(this);
                   this.serverEntity.addPairing(player);
                   if (this.seenBy.size() == 1) {
                      ChunkMap.this.level.debugSynchronizers().registerEntity(this.entity);
@@ -26,22 +26,13 @@ public interface ChunkTrackingView {
                Positioned next = (Positioned)to;
                if (last.squareIntersects(next)) {
                   int minX = Math.min(last.minX(), next.minX());
-                  int minZ = Math.min(last.minZ(), next.minZ());
                   int maxX = Math.max(last.maxX(), next.maxX());
-                  int maxZ = Math.max(last.maxZ(), next.maxZ());
 
                   for(int x = minX; x <= maxX; ++x) {
-                     for(int z = minZ; z <= maxZ; ++z) {
-                        boolean saw = last.contains(x, z);
-                        boolean sees = next.contains(x, z);
-                        if (saw != sees) {
-                           if (sees) {
-                              onEnter.accept(new ChunkPos(x, z));
-                           } else {
-                              onLeave.accept(new ChunkPos(x, z));
-                           }
-                        }
-                     }
+                     int lastExtent = last.columnExtent(x);
+                     int nextExtent = next.columnExtent(x);
+                     forEachOutside(x, next.center().z(), nextExtent, last.center().z(), lastExtent, onEnter);
+                     forEachOutside(x, last.center().z(), lastExtent, next.center().z(), nextExtent, onLeave);
                   }
 
                   return;
@@ -54,6 +45,26 @@ public interface ChunkTrackingView {
       }
    }
 
+   private static void forEachOutside(final int x, final int centerZ, final int extent, final int excludedCenterZ, final int excludedExtent, final Consumer consumer) {
+      if (extent >= 0) {
+         int minZ = centerZ - extent;
+         int maxZ = centerZ + extent;
+         int excludedMinZ = excludedExtent >= 0 ? excludedCenterZ - excludedExtent : Integer.MAX_VALUE;
+         int excludedMaxZ = excludedExtent >= 0 ? excludedCenterZ + excludedExtent : Integer.MAX_VALUE;
+
+         for(int z = minZ; z <= Math.min(maxZ, excludedMinZ - 1); ++z) {
+            consumer.accept(new ChunkPos(x, z));
+         }
+
+         if (excludedMaxZ < maxZ) {
+            for(int z = Math.max(minZ, excludedMaxZ + 1); z <= maxZ; ++z) {
+               consumer.accept(new ChunkPos(x, z));
+            }
+         }
+
+      }
+   }
+
    default boolean contains(final ChunkPos pos) {
       return this.contains(pos.x(), pos.z());
    }
@@ -109,12 +120,32 @@ public interface ChunkTrackingView {
          return ChunkTrackingView.isWithinDistance(this.center.x(), this.center.z(), this.viewDistance, chunkX, chunkZ, includeNeighbors);
       }
 
+      private int columnExtent(final int x) {
+         long deltaX = (long)Math.max(0, Math.abs(x - this.center.x()) - 2);
+         long remaining = (long)this.viewDistance * (long)this.viewDistance - deltaX * deltaX;
+         if (remaining <= 0L) {
+            return -1;
+         } else {
+            long deltaZ = (long)Math.sqrt((double)(remaining - 1L));
+
+            while((deltaZ + 1L) * (deltaZ + 1L) < remaining) {
+               ++deltaZ;
+            }
+
+            while(deltaZ * deltaZ >= remaining) {
+               --deltaZ;
+            }
+
+            return (int)deltaZ + 2;
+         }
+      }
+
       public void forEach(final Consumer consumer) {
          for(int x = this.minX(); x <= this.maxX(); ++x) {
-            for(int z = this.minZ(); z <= this.maxZ(); ++z) {
-               if (this.contains(x, z)) {
-                  consumer.accept(new ChunkPos(x, z));
-               }
+            int extent = this.columnExtent(x);
+
+            for(int z = this.center.z() - extent; z <= this.center.z() + extent; ++z) {
+               consumer.accept(new ChunkPos(x, z));
             }
          }
 
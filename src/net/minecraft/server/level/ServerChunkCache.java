@@ -431,6 +431,14 @@ public class ServerChunkCache extends ChunkSource {
 
    }
 
+   public void blockEntityChanged(final BlockPos pos) {
+      ChunkHolder chunk = this.getVisibleChunkIfPresent(ChunkPos.pack(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+      if (chunk != null) {
+         chunk.invalidateChunkPacket();
+      }
+
+   }
+
    public void onLightUpdate(final LightLayer layer, final SectionPos pos) {
       this.mainThreadProcessor.execute(() -> {
          ChunkHolder chunk = this.getVisibleChunkIfPresent(pos.chunk().pack());
@@ -27,6 +27,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -142,6 +143,7 @@ import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.chunk.status.ChunkStatus;
 import net.minecraft.world.level.chunk.storage.EntityStorage;
+import net.minecraft.world.level.chunk.storage.RegionCompactionStats;
 import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.chunk.storage.SimpleRegionStorage;
 import net.minecraft.world.level.dimension.BuiltinDimensionTypes;
@@ -166,6 +168,7 @@ import net.minecraft.world.level.levelgen.structure.StructureCheck;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplateManager;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.pathfinder.PathRequests;
 import net.minecraft.world.level.pathfinder.PathTypeCache;
 import net.minecraft.world.level.portal.PortalForcer;
 import net.minecraft.world.level.redstone.ExperimentalRedstoneUtils;
@@ -196,6 +199,7 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
    private static final Logger LOGGER = LogUtils.getLogger();
    private static final int EMPTY_TIME_NO_TICK = 300;
    private static final int MAX_SCHEDULED_TICKS_PER_TICK = 65536;
+   private static volatile boolean indexedRandomTicks;
    private final List players = Lists.newArrayList();
    private final ServerChunkCache chunkSource;
    private final MinecraftServer server;
@@ -211,7 +215,8 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
    private final PortalForcer portalForcer;
    private final LevelTicks blockTicks = new LevelTicks(this::isPositionTickingWithEntitiesLoaded);
    private final LevelTicks fluidTicks = new LevelTicks(this::isPositionTickingWithEntitiesLoaded);
-   private final PathTypeCache pathTypesByPosCache = new PathTypeCache();
+   private final PathTypeCache pathTypesByPosCache = new PathTypeCache(this);
+   private final PathRequests pathRequests = new PathRequests();
    private final Set navigatingMobs = new ObjectOpenHashSet();
    private volatile boolean isUpdatingNavigations;
    protected final Raids raids;
@@ -398,6 +403,7 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
                }
             }
          });
+         this.pathRequests.releaseSectionSnapshots();
          profiler.popPush("blockEntities");
          this.tickBlockEntities();
          profiler.pop();
@@ -466,21 +472,15 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
             if (section.isRandomlyTicking()) {
                int sectionY = chunk.getSectionYFromSectionIndex(sectionIndex);
                int minYInSection = SectionPos.sectionToBlockCoord(sectionY);
-
-               for(int i = 0; i < tickSpeed; ++i) {
-                  BlockPos pos = this.getBlockRandomPos(minX, minYInSection, minZ, 15);
-                  profiler.push("randomTick");
-                  BlockState blockState = section.getBlockState(pos.getX() - minX, pos.getY() - minYInSection, pos.getZ() - minZ);
-                  if (blockState.isRandomlyTicking()) {
-                     blockState.randomTick(this, pos, this.random);
-                  }
-
-                  FluidState fluidState = blockState.getFluidState();
-                  if (fluidState.isRandomlyTicking()) {
-                     fluidState.randomTick(this, pos, this.random);
+               if (indexedRandomTicks) {
+                  this.tickIndexedSection(section, minX, minYInSection, minZ, tickSpeed, profiler);
+               } else {
+                  for(int i = 0; i < tickSpeed; ++i) {
+                     BlockPos pos = this.getBlockRandomPos(minX, minYInSection, minZ, 15);
+                     profiler.push("randomTick");
+                     this.randomTickBlock(section.getBlockState(pos.getX() - minX, pos.getY() - minYInSection, pos.getZ() - minZ), pos);
+                     profiler.pop();
                   }
-
-                  profiler.pop();
                }
             }
          }
@@ -489,6 +489,42 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
       profiler.pop();
    }
 
+   public static void configureIndexedRandomTicks(final boolean enabled) {
+      indexedRandomTicks = enabled;
+   }
+
+   private void tickIndexedSection(final LevelChunkSection section, final int minX, final int minY, final int minZ, final int tickSpeed, final ProfilerFiller profiler) {
+      int candidates = section.getRandomTickCandidateCount();
+
+      for(int i = 0; i < tickSpeed && candidates > 0; ++i) {
+         this.randValue = this.randValue * 3 + 1013904223;
+         int slot = this.randValue >> 2 & 4095;
+         if (slot < candidates) {
+            int index = section.getRandomTickCandidate(slot);
+            int x = index & 15;
+            int y = index >> 8 & 15;
+            int z = index >> 4 & 15;
+            profiler.push("randomTick");
+            this.randomTickBlock(section.getBlockState(x, y, z), new BlockPos(minX + x, minY + y, minZ + z));
+            profiler.pop();
+            candidates = section.getRandomTickCandidateCount();
+         }
+      }
+
+   }
+
+   private void randomTickBlock(final BlockState blockState, final BlockPos pos) {
+      if (blockState.isRandomlyTicking()) {
+         blockState.randomTick(this, pos, this.random);
+      }
+
+      FluidState fluidState = blockState.getFluidState();
+      if (fluidState.isRandomlyTicking()) {
+         fluidState.randomTick(this, pos, this.random);
+      }
+
+   }
+
    public void tickThunder(final LevelChunk chunk) {
       ChunkPos chunkPos = chunk.getPos();
       boolean raining = this.isRaining();
@@ -1066,7 +1102,6 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
       }
 
       this.getChunkSource().blockChanged(pos);
-      this.pathTypesByPosCache.invalidate(pos);
       VoxelShape oldShape = old.getCollisionShape(this, pos);
       VoxelShape newShape = current.getCollisionShape(this, pos);
       if (Shapes.joinIsNotEmpty(oldShape, newShape, BooleanOp.NOT_SAME)) {
@@ -1092,6 +1127,11 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
       }
    }
 
+   public void blockEntityChanged(final BlockPos pos) {
+      super.blockEntityChanged(pos);
+      this.getChunkSource().blockEntityChanged(pos);
+   }
+
    public void updateNeighborsAt(final BlockPos pos, final Block sourceBlock) {
       this.updateNeighborsAt(pos, sourceBlock, ExperimentalRedstoneUtils.initialOrientation(this, (Direction)null, (Direction)null));
    }
@@ -1374,6 +1414,10 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
       return this.getChunkSource().getPoiManager();
    }
 
+   public CompletableFuture compactRegions() {
+      return this.getChunkSource().chunkMap.compactRegions().thenCombine(this.entityManager.compactRegions(), RegionCompactionStats::add).thenCombine(this.getPoiManager().compactRegions(), RegionCompactionStats::add);
+   }
+
    public boolean isVillage(final BlockPos pos) {
       return this.isCloseToVillage(pos, 1);
    }
@@ -1658,6 +1702,10 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
       return this.pathTypesByPosCache;
    }
 
+   public PathRequests getPathRequests() {
+      return this.pathRequests;
+   }
+
    public void waitForEntities(final ChunkPos centerChunk, final int radius) {
       List<ChunkPos> chunks = ChunkPos.rangeClosed(centerChunk, radius).toList();
       this.server.managedBlock(() -> {
@@ -1,26 +1,27 @@
 package net.minecraft.server.network;
 
-import com.google.common.collect.Comparators;
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
-import java.util.BitSet;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.LongStream;
-import java.util.stream.Stream;
 import net.minecraft.SharedConstants;
 import net.minecraft.network.protocol.game.ClientboundChunkBatchFinishedPacket;
 import net.minecraft.network.protocol.game.ClientboundChunkBatchStartPacket;
 import net.minecraft.network.protocol.game.ClientboundForgetLevelChunkPacket;
-import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
+import net.minecraft.util.Util;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.LevelChunk;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 
 public class PlayerChunkSender {
@@ -29,19 +30,40 @@ public class PlayerChunkSender {
    public static final float MAX_CHUNKS_PER_TICK = 64.0F;
    private static final float START_CHUNKS_PER_TICK = 9.0F;
    private static final int MAX_UNACKNOWLEDGED_BATCHES = 10;
+   private static final int DIRECTION_SECTORS = 8;
+   private static final int MAX_PRIORITY = 255;
+   private static final float RTT_SMOOTHING = 0.25F;
    private final LongSet pendingChunks = new LongOpenHashSet();
+   private final List pendingByPriority = new ArrayList();
+   private final LongArrayFIFOQueue batchSendTimes = new LongArrayFIFOQueue();
    private final boolean memoryConnection;
    private float desiredChunksPerTick = 9.0F;
    private float batchQuota;
    private int unacknowledgedBatches;
    private int maxUnacknowledgedBatches = 1;
+   private float smoothedBatchRtt;
+   private @Nullable ChunkPos priorityOrigin;
+   private int priorityDirection;
+   private float priorityDirectionX;
+   private float priorityDirectionZ;
 
    public PlayerChunkSender(final boolean memoryConnection) {
       this.memoryConnection = memoryConnection;
    }
 
    public void markChunkPendingToSend(final LevelChunk chunk) {
-      this.pendingChunks.add(chunk.getPos().pack());
+      long pos = chunk.getPos().pack();
+      if (this.pendingChunks.add(pos) && this.priorityOrigin != null) {
+         this.enqueue(pos);
+      }
+
+   }
+
+   public void markChunksPendingToSend(final LongCollection chunks) {
+      if (this.pendingChunks.addAll(chunks)) {
+         this.priorityOrigin = null;
+      }
+
    }
 
    public void dropChunk(final ServerPlayer player, final ChunkPos pos) {
@@ -56,13 +78,15 @@ public class PlayerChunkSender {
          float maxBatchSize = Math.max(1.0F, this.desiredChunksPerTick);
          this.batchQuota = Math.min(this.batchQuota + this.desiredChunksPerTick, maxBatchSize);
          if (!(this.batchQuota < 1.0F)) {
-            if (!this.pendingChunks.isEmpty()) {
+            if (!this.pendingChunks.isEmpty() && player.connection.isChannelWritable()) {
                ServerLevel level = player.level();
                ChunkMap chunkMap = level.getChunkSource().chunkMap;
-               List<LevelChunk> chunksToSend = this.collectChunksToSend(chunkMap, player.chunkPosition());
+               this.updatePriorityOrigin(player);
+               List<LevelChunk> chunksToSend = this.collectChunksToSend(chunkMap);
                if (!chunksToSend.isEmpty()) {
                   ServerGamePacketListenerImpl connection = player.connection;
                   ++this.unacknowledgedBatches;
+                  this.batchSendTimes.enqueue(Util.getMillis());
                   connection.send(ClientboundChunkBatchStartPacket.INSTANCE);
 
                   for(LevelChunk chunk : chunksToSend) {
@@ -78,7 +102,7 @@ public class PlayerChunkSender {
    }
 
    private static void sendChunk(final ServerGamePacketListenerImpl connection, final ServerLevel level, final LevelChunk chunk) {
-      connection.send(new ClientboundLevelChunkWithLightPacket(chunk, level.getLightEngine(), (BitSet)null, (BitSet)null));
+      level.getChunkSource().chunkMap.sendChunkPacket(connection, chunk);
       ChunkPos pos = chunk.getPos();
       if (SharedConstants.DEBUG_VERBOSE_SERVER_EVENTS) {
          LOGGER.debug("SEN {}", pos);
@@ -87,23 +111,79 @@ public class PlayerChunkSender {
       level.debugSynchronizers().startTrackingChunk(connection.player, chunk.getPos());
    }
 
-   private List collectChunksToSend(final ChunkMap chunkMap, final ChunkPos playerPos) {
-      int maxBatchSize = Mth.floor(this.batchQuota);
-      List<LevelChunk> chunks;
-      if (!this.memoryConnection && this.pendingChunks.size() > maxBatchSize) {
-         Stream var7 = this.pendingChunks.stream();
-         Objects.requireNonNull(playerPos);
-         LongStream var8 = ((List)var7.collect(Comparators.least(maxBatchSize, Comparator.comparingInt(playerPos::distanceSquared)))).stream().mapToLong(Long::longValue);
-         Objects.requireNonNull(chunkMap);
-         chunks = var8.mapToObj(chunkMap::getChunkToSend).filter(Objects::nonNull).toList();
+   private void updatePriorityOrigin(final ServerPlayer player) {
+      ChunkPos origin = player.chunkPosition();
+      int direction = Mth.floor(player.getYRot() / 45.0F + 0.5F) & 7;
+      if (!origin.equals(this.priorityOrigin) || direction != this.priorityDirection) {
+         this.priorityOrigin = origin;
+         this.priorityDirection = direction;
+         float angle = (float)direction * 45.0F * ((float)Math.PI / 180F);
+         this.priorityDirectionX = -Mth.sin(angle);
+         this.priorityDirectionZ = Mth.cos(angle);
+
+         for(LongList chunks : this.pendingByPriority) {
+            chunks.clear();
+         }
+
+         LongIterator var5 = this.pendingChunks.iterator();
+
+         while(var5.hasNext()) {
+            long pos = var5.nextLong();
+            this.enqueue(pos);
+         }
+
+      }
+   }
+
+   private void enqueue(final long pos) {
+      int priority = this.getPriority(pos);
+
+      while(this.pendingByPriority.size() <= priority) {
+         this.pendingByPriority.add(new LongArrayList());
+      }
+
+      ((LongList)this.pendingByPriority.get(priority)).add(pos);
+   }
+
+   private int getPriority(final long pos) {
+      int dx = ChunkPos.getX(pos) - this.priorityOrigin.x();
+      int dz = ChunkPos.getZ(pos) - this.priorityOrigin.z();
+      if (dx == 0 && dz == 0) {
+         return 0;
       } else {
-         LongStream var10000 = this.pendingChunks.longStream();
-         Objects.requireNonNull(chunkMap);
-         chunks = var10000.mapToObj(chunkMap::getChunkToSend).filter(Objects::nonNull).sorted(Comparator.comparingInt((chunkx) -> playerPos.distanceSquared(chunkx.getPos()))).toList();
+         float distance = Mth.sqrt((float)(dx * dx + dz * dz));
+         float alignment = ((float)dx * this.priorityDirectionX + (float)dz * this.priorityDirectionZ) / distance;
+         return Math.min(Mth.floor(distance * (1.5F - 0.5F * alignment)), 255);
+      }
+   }
+
+   private List collectChunksToSend(final ChunkMap chunkMap) {
+      int maxBatchSize = this.memoryConnection ? Integer.MAX_VALUE : Mth.floor(this.batchQuota);
+      List<LevelChunk> chunks = new ArrayList();
+      LongList notReady = new LongArrayList();
+
+      for(int priority = 0; priority < this.pendingByPriority.size() && chunks.size() < maxBatchSize; ++priority) {
+         LongList queued = (LongList)this.pendingByPriority.get(priority);
+
+         while(!queued.isEmpty() && chunks.size() < maxBatchSize) {
+            long pos = queued.removeLong(queued.size() - 1);
+            if (this.pendingChunks.contains(pos)) {
+               LevelChunk chunk = chunkMap.getChunkToSend(pos);
+               if (chunk == null) {
+                  notReady.add(pos);
+               } else {
+                  this.pendingChunks.remove(pos);
+                  chunks.add(chunk);
+               }
+            }
+         }
       }
 
-      for(LevelChunk chunk : chunks) {
-         this.pendingChunks.remove(chunk.getPos().pack());
+      LongIterator var9 = notReady.iterator();
+
+      while(var9.hasNext()) {
+         long pos = var9.nextLong();
+         this.enqueue(pos);
       }
 
       return chunks;
@@ -116,7 +196,14 @@ public class PlayerChunkSender {
          this.batchQuota = 1.0F;
       }
 
-      this.maxUnacknowledgedBatches = 10;
+      if (!this.batchSendTimes.isEmpty()) {
+         float rtt = (float)(Util.getMillis() - this.batchSendTimes.dequeueLong());
+         this.smoothedBatchRtt = this.smoothedBatchRtt == 0.0F ? rtt : Mth.lerp(0.25F, this.smoothedBatchRtt, rtt);
+         this.maxUnacknowledgedBatches = Mth.clamp(Mth.ceil(this.smoothedBatchRtt / 50.0F) + 1, 1, 10);
+      } else {
+         this.maxUnacknowledgedBatches = 10;
+      }
+
    }
 
    public boolean isPending(final long pos) {
@@ -12,6 +12,8 @@ import net.minecraft.network.Connection;
 import net.minecraft.network.DisconnectionDetails;
 import net.minecraft.network.PacketProcessor;
 import net.minecraft.network.PacketSendListener;
+import net.minecraft.network.PacketStatistics;
+import net.minecraft.network.PreparedPacket;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.PacketUtils;
@@ -173,6 +175,26 @@ public abstract class ServerCommonPacketListenerImpl implements ServerCommonPack
       }
    }
 
+   public void send(final PreparedPacket packet) {
+      if (!this.trySend(packet)) {
+         this.send((Packet)Objects.requireNonNull(packet.packet(), "Prepared packet without a fallback packet"));
+      }
+
+   }
+
+   public boolean trySend(final PreparedPacket packet) {
+      boolean flush = !this.suspendFlushingOnServerThread || !this.server.isSameThread();
+      return this.connection.sendPrepared(packet, flush);
+   }
+
+   public @Nullable PacketStatistics getPacketStatistics() {
+      return this.connection.getPacketStatistics();
+   }
+
+   public boolean isChannelWritable() {
+      return this.connection.isChannelWritable();
+   }
+
    public void disconnect(final Component reason) {
       this.disconnect(new DisconnectionDetails(reason));
    }
@@ -1,5 +1,6 @@
 package net.minecraft.server.network;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.mojang.logging.LogUtils;
 import io.netty.bootstrap.ServerBootstrap;
@@ -20,6 +21,7 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.SocketAddress;
 import java.util.Collections;
+import java.util.IntSummaryStatistics;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -35,10 +37,14 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.PacketFlow;
 import net.minecraft.network.protocol.common.ClientboundDisconnectPacket;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.profiling.metrics.MetricCategory;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.util.profiling.metrics.ProfilerMeasured;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 
-public class ServerConnectionListener {
+public class ServerConnectionListener implements ProfilerMeasured {
    private static final Logger LOGGER = LogUtils.getLogger();
    private final MinecraftServer server;
    public volatile boolean running;
@@ -48,6 +54,7 @@ public class ServerConnectionListener {
    public ServerConnectionListener(final MinecraftServer server) {
       this.server = server;
       this.running = true;
+      MetricsRegistry.INSTANCE.add(this);
    }
 
    public void startTcpServerListener(final @Nullable InetAddress address, final int port) throws IOException {
@@ -158,6 +165,25 @@ public class ServerConnectionListener {
       return this.connections;
    }
 
+   private IntSummaryStatistics pendingWriteStatistics() {
+      synchronized(this.connections) {
+         return this.connections.stream().mapToInt((connection) -> ((Connection)connection).getPendingWriteCount()).summaryStatistics();
+      }
+   }
+
+   public List profiledMetrics() {
+      long[] last = new long[]{Connection.getWriteDrainTasks(), Connection.getDrainedWrites()};
+      return ImmutableList.of(MetricSampler.create("connection-write-queue/total", MetricCategory.NETWORK, this, (listener) -> (double)((ServerConnectionListener)listener).pendingWriteStatistics().getSum()), MetricSampler.create("connection-write-queue/max", MetricCategory.NETWORK, this, (listener) -> (double)Math.max(0, ((ServerConnectionListener)listener).pendingWriteStatistics().getMax())), MetricSampler.create("connection-write-queue/writes-per-drain", MetricCategory.NETWORK, () -> {
+         long tasks = Connection.getWriteDrainTasks();
+         long writes = Connection.getDrainedWrites();
+         long deltaTasks = tasks - last[0];
+         long deltaWrites = writes - last[1];
+         last[0] = tasks;
+         last[1] = writes;
+         return deltaTasks == 0L ? 0.0 : (double)deltaWrites / (double)deltaTasks;
+      }));
+   }
+
    private static class LatencySimulator extends ChannelInboundHandlerAdapter {
       private static final Timer TIMER = new HashedWheelTimer();
       private final int delay;
@@ -8,11 +8,13 @@ import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.logging.LogUtils;
+import io.netty.channel.ChannelFutureListener;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -50,6 +52,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.DisconnectionDetails;
 import net.minecraft.network.HashedStack;
+import net.minecraft.network.PreparedPacket;
 import net.minecraft.network.TickablePacketListener;
 import net.minecraft.network.chat.ChatType;
 import net.minecraft.network.chat.Component;
@@ -71,6 +74,7 @@ import net.minecraft.network.protocol.game.ClientboundBlockChangedAckPacket;
 import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundCommandSuggestionsPacket;
 import net.minecraft.network.protocol.game.ClientboundDisguisedChatPacket;
+import net.minecraft.network.protocol.game.ClientboundEntityMovementBatchPacket;
 import net.minecraft.network.protocol.game.ClientboundGameRuleValuesPacket;
 import net.minecraft.network.protocol.game.ClientboundMoveVehiclePacket;
 import net.minecraft.network.protocol.game.ClientboundPlaceGhostRecipePacket;
@@ -235,6 +239,7 @@ public class ServerGamePacketListenerImpl extends ServerCommonPacketListenerImpl
    private static final Component CHAT_VALIDATION_FAILED = Component.translatable("multiplayer.disconnect.chat_validation_failed");
    private static final Component INVALID_COMMAND_SIGNATURE;
    private static final int MAX_COMMAND_SUGGESTIONS = 1000;
+   private static volatile boolean entityMovementBatching;
    public ServerPlayer player;
    public final PlayerChunkSender chunkSender;
    private int tickCount;
@@ -273,6 +278,8 @@ public class ServerGamePacketListenerImpl extends ServerCommonPacketListenerImpl
    private boolean waitingForSwitchToConfig;
    private boolean waitingForRespawn;
    private int clientLoadedTimeoutTimer;
+   private final List pendingEntityMovement = new ArrayList();
+   private boolean collectingEntityMovement;
 
    public ServerGamePacketListenerImpl(final MinecraftServer server, final Connection connection, final ServerPlayer player, final CommonListenerCookie cookie) {
       super(server, connection, cookie);
@@ -287,6 +294,59 @@ public class ServerGamePacketListenerImpl extends ServerCommonPacketListenerImpl
       this.chatMessageChain = new FutureChain(server);
    }
 
+   public static void configureEntityMovementBatching(final boolean enabled) {
+      entityMovementBatching = enabled;
+   }
+
+   public static boolean batchesEntityMovement(final Packet packet) {
+      return entityMovementBatching && ClientboundEntityMovementBatchPacket.canBatch(packet);
+   }
+
+   public void suspendFlushing() {
+      super.suspendFlushing();
+      this.collectingEntityMovement = entityMovementBatching && !this.connection.isMemoryConnection();
+   }
+
+   public void resumeFlushing() {
+      this.collectingEntityMovement = false;
+      this.flushEntityMovement();
+      super.resumeFlushing();
+   }
+
+   public void send(final Packet packet, final @Nullable ChannelFutureListener listener) {
+      if (this.server.isSameThread()) {
+         if (this.collectingEntityMovement && listener == null && ClientboundEntityMovementBatchPacket.canBatch(packet)) {
+            this.pendingEntityMovement.add(packet);
+            if (this.pendingEntityMovement.size() >= 1024) {
+               this.flushEntityMovement();
+            }
+
+            return;
+         }
+
+         this.flushEntityMovement();
+      }
+
+      super.send(packet, listener);
+   }
+
+   public boolean trySend(final PreparedPacket packet) {
+      if (this.server.isSameThread()) {
+         this.flushEntityMovement();
+      }
+
+      return super.trySend(packet);
+   }
+
+   private void flushEntityMovement() {
+      if (!this.pendingEntityMovement.isEmpty()) {
+         Packet<?> packet = (Packet<?>)(this.pendingEntityMovement.size() == 1 ? (Packet)this.pendingEntityMovement.getFirst() : new ClientboundEntityMovementBatchPacket(List.copyOf(this.pendingEntityMovement)));
+         this.pendingEntityMovement.clear();
+         super.send(packet, (ChannelFutureListener)null);
+      }
+
+   }
+
    public void tick() {
       if (this.ackBlockChangesUpTo > -1) {
          this.send(new ClientboundBlockChangedAckPacket(this.ackBlockChangesUpTo));
@@ -29,6 +29,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.LayeredRegistryAccess;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.Connection;
+import net.minecraft.network.PreparedPacket;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.chat.ChatType;
 import net.minecraft.network.chat.Component;
@@ -113,6 +114,8 @@ public abstract class PlayerList {
    private static final Logger LOGGER = LogUtils.getLogger();
    private static final int SEND_PLAYER_INFO_INTERVAL = 600;
    private static final SimpleDateFormat BAN_DATE_FORMAT;
+   private static final int MIN_PREPARED_BROADCAST_TARGETS = 2;
+   private static volatile boolean preparedBroadcasts;
    private final MinecraftServer server;
    private final List players = Lists.newArrayList();
    private final Map playersByUUID = Maps.newHashMap();
@@ -128,6 +131,7 @@ public abstract class PlayerList {
    private int simulationDistance;
    private boolean allowCommandsForAllPlayers;
    private int sendAllPlayerInfoIn;
+   private PreparedPacket.@Nullable Encoder broadcastEncoder;
 
    public PlayerList(final MinecraftServer server, final LayeredRegistryAccess registries, final PlayerDataStorage playerIo, final NotificationService notificationService) {
       this.server = server;
@@ -432,17 +436,62 @@ public abstract class PlayerList {
 
    }
 
+   public static void configurePreparedBroadcasts(final boolean enabled) {
+      preparedBroadcasts = enabled;
+   }
+
+   public @Nullable PreparedPacket prepareBroadcast(final Packet packet, final int targets) {
+      return preparedBroadcasts && targets >= 2 ? this.preparePacket(packet) : null;
+   }
+
+   public @Nullable PreparedPacket preparePacket(final Packet packet) {
+      int threshold = this.server.getCompressionThreshold();
+      if (threshold >= 0) {
+         if (this.broadcastEncoder == null || this.broadcastEncoder.threshold() != threshold) {
+            this.broadcastEncoder = new PreparedPacket.Encoder(GameProtocols.CLIENTBOUND_TEMPLATE.bind(RegistryFriendlyByteBuf.decorator(this.server.registryAccess())), threshold);
+         }
+
+         return this.broadcastEncoder.prepare(packet);
+      } else {
+         return null;
+      }
+   }
+
    public void broadcastAll(final Packet packet) {
-      for(ServerPlayer player : this.players) {
-         player.connection.send(packet);
+      PreparedPacket prepared = this.prepareBroadcast(packet, this.players.size());
+      if (prepared == null) {
+         for(ServerPlayer player : this.players) {
+            player.connection.send(packet);
+         }
+      } else {
+         try {
+            for(ServerPlayer player : this.players) {
+               player.connection.send(prepared);
+            }
+         } finally {
+            prepared.release();
+         }
       }
 
    }
 
    public void broadcastAll(final Packet packet, final ResourceKey dimension) {
-      for(ServerPlayer player : this.players) {
-         if (player.level().dimension() == dimension) {
-            player.connection.send(packet);
+      PreparedPacket prepared = this.prepareBroadcast(packet, this.players.size());
+      if (prepared == null) {
+         for(ServerPlayer player : this.players) {
+            if (player.level().dimension() == dimension) {
+               player.connection.send(packet);
+            }
+         }
+      } else {
+         try {
+            for(ServerPlayer player : this.players) {
+               if (player.level().dimension() == dimension) {
+                  player.connection.send(prepared);
+               }
+            }
+         } finally {
+            prepared.release();
          }
       }
 
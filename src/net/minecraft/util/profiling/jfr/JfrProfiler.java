@@ -15,6 +15,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -29,6 +30,7 @@ import jdk.jfr.Recording;
 import net.minecraft.SharedConstants;
 import net.minecraft.core.Holder;
 import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.PacketStatistics;
 import net.minecraft.network.protocol.PacketType;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.util.FileUtil;
@@ -41,6 +43,7 @@ import net.minecraft.util.profiling.jfr.event.ClientFpsEvent;
 import net.minecraft.util.profiling.jfr.event.NetworkSummaryEvent;
 import net.minecraft.util.profiling.jfr.event.PacketReceivedEvent;
 import net.minecraft.util.profiling.jfr.event.PacketSentEvent;
+import net.minecraft.util.profiling.jfr.event.PacketTypeSummaryEvent;
 import net.minecraft.util.profiling.jfr.event.ServerTickTimeEvent;
 import net.minecraft.util.profiling.jfr.event.StructureGenerationEvent;
 import net.minecraft.util.profiling.jfr.event.WorldLoadFinishedEvent;
@@ -59,7 +62,7 @@ public class JfrProfiler implements JvmProfiler {
    public static final String TICK_CATEGORY = "Ticking";
    public static final String NETWORK_CATEGORY = "Network";
    public static final String STORAGE_CATEGORY = "Storage";
-   private static final List CUSTOM_EVENTS = List.of(ChunkGenerationEvent.class, ChunkRegionReadEvent.class, ChunkRegionWriteEvent.class, PacketReceivedEvent.class, PacketSentEvent.class, NetworkSummaryEvent.class, ServerTickTimeEvent.class, ClientFpsEvent.class, StructureGenerationEvent.class, WorldLoadFinishedEvent.class);
+   private static final List CUSTOM_EVENTS = List.of(ChunkGenerationEvent.class, ChunkRegionReadEvent.class, ChunkRegionWriteEvent.class, PacketReceivedEvent.class, PacketSentEvent.class, NetworkSummaryEvent.class, PacketTypeSummaryEvent.class, ServerTickTimeEvent.class, ClientFpsEvent.class, StructureGenerationEvent.class, WorldLoadFinishedEvent.class);
    private static final String FLIGHT_RECORDER_CONFIG = "/flightrecorder-config.jfc";
    private static final DateTimeFormatter DATE_TIME_FORMATTER;
    private static final JfrProfiler INSTANCE;
@@ -67,6 +70,7 @@ public class JfrProfiler implements JvmProfiler {
    private int currentFPS;
    private float currentAverageTickTimeServer;
    private final Map networkTrafficByAddress = new ConcurrentHashMap();
+   private final Map lastPacketTypeSummary = new HashMap();
    private final Runnable periodicClientFps = () -> (new ClientFpsEvent(this.currentFPS)).commit();
    private final Runnable periodicServerTickTime = () -> (new ServerTickTimeEvent(this.currentAverageTickTimeServer)).commit();
    private final Runnable periodicNetworkSummary = () -> {
@@ -79,6 +83,17 @@ public class JfrProfiler implements JvmProfiler {
 
    };
 
+   private final Runnable periodicPacketTypeSummary = () -> {
+      for(PacketStatistics.Entry entry : PacketStatistics.GLOBAL.snapshot()) {
+         PacketStatistics.Entry previous = (PacketStatistics.Entry)this.lastPacketTypeSummary.put(entry.type(), entry);
+         PacketStatistics.Entry delta = previous != null ? entry.subtract(previous) : entry;
+         if (delta.packets() > 0L) {
+            (new PacketTypeSummaryEvent(entry.type().flow().id(), entry.type().id().toString(), delta.packets(), delta.encodedBytes(), delta.compressedBytes(), delta.encodeNanos())).commit();
+         }
+      }
+
+   };
+
    private JfrProfiler() {
       CUSTOM_EVENTS.forEach(FlightRecorder::register);
       this.registerPeriodicEvents();
@@ -105,6 +120,7 @@ public class JfrProfiler implements JvmProfiler {
       addPeriodicEvent(ClientFpsEvent.class, this.periodicClientFps);
       addPeriodicEvent(ServerTickTimeEvent.class, this.periodicServerTickTime);
       addPeriodicEvent(NetworkSummaryEvent.class, this.periodicNetworkSummary);
+      addPeriodicEvent(PacketTypeSummaryEvent.class, this.periodicPacketTypeSummary);
    }
 
    private static void addPeriodicEvent(final Class eventClass, final Runnable runnable) {
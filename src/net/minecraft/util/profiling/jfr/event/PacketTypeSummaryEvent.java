@@ -0,0 +1,63 @@
+package net.minecraft.util.profiling.jfr.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("minecraft.PacketTypeSummary")
+@Label("Packet Type Summary")
+@Category({"Minecraft", "Network"})
+@StackTrace(false)
+@Period("10 s")
+public class PacketTypeSummaryEvent extends Event {
+   public static final String EVENT_NAME = "minecraft.PacketTypeSummary";
+   public static final EventType TYPE = EventType.getEventType(PacketTypeSummaryEvent.class);
+   @Name("packetDirection")
+   @Label("Packet Direction")
+   public final String packetDirection;
+   @Name("packetId")
+   @Label("Packet Id")
+   public final String packetId;
+   @Name("packets")
+   @Label("Packets")
+   public final long packets;
+   @Name("encodedBytes")
+   @Label("Encoded Bytes")
+   @DataAmount
+   public final long encodedBytes;
+   @Name("compressedBytes")
+   @Label("Compressed Bytes")
+   @DataAmount
+   public final long compressedBytes;
+   @Name("encodeTime")
+   @Label("Encode Time")
+   @Timespan
+   public final long encodeTime;
+
+   public PacketTypeSummaryEvent(final String packetDirection, final String packetId, final long packets, final long encodedBytes, final long compressedBytes, final long encodeTime) {
+      this.packetDirection = packetDirection;
+      this.packetId = packetId;
+      this.packets = packets;
+      this.encodedBytes = encodedBytes;
+      this.compressedBytes = compressedBytes;
+      this.encodeTime = encodeTime;
+   }
+
+   public static final class Fields {
+      public static final String PACKET_DIRECTION = "packetDirection";
+      public static final String PACKET_ID = "packetId";
+      public static final String PACKETS = "packets";
+      public static final String ENCODED_BYTES = "encodedBytes";
+      public static final String COMPRESSED_BYTES = "compressedBytes";
+      public static final String ENCODE_TIME = "encodeTime";
+
+      private Fields() {
+      }
+   }
+}
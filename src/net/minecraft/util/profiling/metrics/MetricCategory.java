@@ -9,7 +9,8 @@ public enum MetricCategory {
    CHUNK_RENDERING("chunk rendering"),
    CHUNK_RENDERING_DISPATCHING("chunk rendering dispatching"),
    CPU("cpu"),
-   GPU("gpu");
+   GPU("gpu"),
+   NETWORK("network");
 
    private final String description;
 
@@ -23,6 +24,6 @@ public enum MetricCategory {
 
    // $FF: synthetic method
    private static MetricCategory[] $values() {
-      return new MetricCategory[]{PATH_FINDING, EVENT_LOOPS, CONSECUTIVE_EXECUTORS, TICK_LOOP, JVM, CHUNK_RENDERING, CHUNK_RENDERING_DISPATCHING, CPU, GPU};
+      return new MetricCategory[]{PATH_FINDING, EVENT_LOOPS, CONSECUTIVE_EXECUTORS, TICK_LOOP, JVM, CHUNK_RENDERING, CHUNK_RENDERING_DISPATCHING, CPU, GPU, NETWORK};
    }
 }
@@ -10,6 +10,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
@@ -24,6 +26,7 @@ import net.minecraft.SharedConstants;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.Util;
 import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
@@ -39,6 +42,8 @@ import org.slf4j.Logger;
 public class RegionStorageUpgrader {
    private static final Logger LOGGER = LogUtils.getLogger();
    private static final String NEW_DIRECTORY_PREFIX = "new_";
+   private static final int MAX_CHUNKS_IN_FLIGHT = 1024;
+   private static final long THROUGHPUT_REPORT_INTERVAL_MILLIS = 10000L;
    private static final Pattern REGEX = Pattern.compile("^r\\.(-?[0-9]+)\\.(-?[0-9]+)\\.mca$");
    private final DataFixer dataFixer;
    private final UpgradeProgress upgradeProgress;
@@ -55,6 +60,7 @@ public class RegionStorageUpgrader {
    private final @Nullable CompoundTag dataFixContextTag;
    private final Supplier legacyFixer;
    private final Int2ObjectMap tagModifiers;
+   private final Object legacyFixLock = new Object();
 
    protected RegionStorageUpgrader(final DataFixer dataFixer, final DataFixTypes dataFixType, final String type, final String folderName, final int defaultVersion, final boolean recreateRegionFiles, final UpgradeProgress upgradeProgress, final int startIndex, final @Nullable CompoundTag dataFixContextTag, final Supplier legacyFixer, final Int2ObjectMap tagModifiers) {
       this.dataFixer = dataFixer;
@@ -84,39 +90,69 @@ public class RegionStorageUpgrader {
             float totalSize = (float)this.upgradeProgress.getTotalFiles();
             this.upgradeProgress.setStatus(UpgradeProgress.Status.UPGRADING);
             ListIterator<FileToUpgrade> iterator = this.files.listIterator();
+            Deque<PendingChunk> inFlight = new ArrayDeque();
+            FileState file = null;
+            int nextChunk = 0;
+            long startMillis = Util.getMillis();
+            long lastReportMillis = startMillis;
+            int processedChunks = 0;
 
             while(!this.upgradeProgress.isCanceled()) {
-               boolean worked = false;
-               float totalProgress = 0.0F;
-               if (iterator.hasNext()) {
-                  FileToUpgrade fileToUpgrade = (FileToUpgrade)iterator.next();
-                  boolean converted = true;
-
-                  for(ChunkPos chunkPos : fileToUpgrade.chunksToUpgrade()) {
-                     converted = converted && this.processOnePosition(this.storage, chunkPos);
-                     worked = true;
+               while(inFlight.size() < 1024) {
+                  if (file == null || nextChunk >= file.fileToUpgrade.chunksToUpgrade().size()) {
+                     if (!iterator.hasNext()) {
+                        break;
+                     }
+
+                     file = new FileState((FileToUpgrade)iterator.next(), iterator.nextIndex());
+                     nextChunk = 0;
                   }
 
+                  List<ChunkPos> chunks = file.fileToUpgrade.chunksToUpgrade();
+                  ChunkPos pos = (ChunkPos)chunks.get(nextChunk);
+                  inFlight.add(new PendingChunk(file, pos, this.readAndUpgrade(this.storage, pos), nextChunk == chunks.size() - 1));
+                  ++nextChunk;
+               }
+
+               PendingChunk chunk = (PendingChunk)inFlight.poll();
+               if (chunk == null) {
+                  break;
+               }
+
+               if (!this.processOnePosition(this.storage, chunk)) {
+                  chunk.file.converted = false;
+               }
+
+               ++processedChunks;
+               if (chunk.lastInFile) {
                   if (this.recreateRegionFiles) {
-                     if (converted) {
-                        this.onFileFinished(fileToUpgrade.file());
+                     if (chunk.file.converted) {
+                        this.onFileFinished(this.storage, chunk.file.fileToUpgrade);
                      } else {
-                        LOGGER.error("Failed to convert region file {}", fileToUpgrade.file().getPath());
+                        LOGGER.error("Failed to convert region file {}", chunk.file.fileToUpgrade.file().getPath());
                      }
+                  } else if (this.previousWriteFuture != null) {
+                     this.previousWriteFuture.join();
                   }
+
+                  float currentDimensionProgress = (float)chunk.file.nextIndex / totalSize;
+                  float currentTotalProgress = (float)(this.startIndex + chunk.file.nextIndex) / totalSize;
+                  this.upgradeProgress.setDimensionProgress(this.dimensionKey, currentDimensionProgress);
+                  this.upgradeProgress.setTotalProgress(currentTotalProgress);
                }
 
-               int nextIndex = iterator.nextIndex();
-               float currentDimensionProgress = (float)nextIndex / totalSize;
-               float currentTotalProgress = (float)(this.startIndex + nextIndex) / totalSize;
-               this.upgradeProgress.setDimensionProgress(this.dimensionKey, currentDimensionProgress);
-               totalProgress += currentTotalProgress;
-               this.upgradeProgress.setTotalProgress(totalProgress);
-               if (!worked) {
-                  break;
+               long now = Util.getMillis();
+               if (now - lastReportMillis >= 10000L) {
+                  lastReportMillis = now;
+                  logThroughput(this.type, processedChunks, now - startMillis);
                }
             }
 
+            for(PendingChunk chunk : inFlight) {
+               chunk.result.handle((tag, error) -> null).join();
+            }
+
+            logThroughput(this.type, processedChunks, Util.getMillis() - startMillis);
             this.upgradeProgress.setStatus(UpgradeProgress.Status.FINISHED);
 
             try {
@@ -183,18 +219,33 @@ public class RegionStorageUpgrader {
       }
    }
 
-   private boolean processOnePosition(final SimpleRegionStorage storage, final ChunkPos pos) {
+   private static void logThroughput(final String type, final int processedChunks, final long elapsedMillis) {
+      LOGGER.info("Upgraded {} {} chunks in {} seconds ({} chunks/s)", new Object[]{processedChunks, type, elapsedMillis / 1000L, (long)processedChunks * 1000L / Math.max(elapsedMillis, 1L)});
+   }
+
+   private CompletableFuture readAndUpgrade(final SimpleRegionStorage storage, final ChunkPos pos) {
+      return storage.read(pos).thenApplyAsync((chunkTag) -> this.tryUpgradeOnePosition(storage, pos, (CompoundTag)((Optional)chunkTag).orElse((Object)null)), Util.backgroundExecutor());
+   }
+
+   private boolean processOnePosition(final SimpleRegionStorage storage, final PendingChunk chunk) {
       boolean converted = false;
 
       try {
-         converted = this.tryProcessOnePosition(storage, pos);
+         CompoundTag upgradedTag = (CompoundTag)chunk.result.join();
+         if (upgradedTag != null) {
+            synchronized(this.legacyFixLock) {
+               this.previousWriteFuture = storage.write(chunk.pos, upgradedTag);
+            }
+
+            converted = true;
+         }
       } catch (CompletionException | ReportedException e) {
          Throwable cause = ((RuntimeException)e).getCause();
          if (!(cause instanceof IOException)) {
             throw e;
          }
 
-         LOGGER.error("Error upgrading chunk {}", pos, cause);
+         LOGGER.error("Error upgrading chunk {}", chunk.pos, cause);
       }
 
       if (converted) {
@@ -206,57 +257,59 @@ public class RegionStorageUpgrader {
       return converted;
    }
 
-   protected boolean tryProcessOnePosition(final SimpleRegionStorage storage, final ChunkPos pos) {
-      CompoundTag chunkTag = (CompoundTag)((Optional)storage.read(pos).join()).orElse((Object)null);
-      if (chunkTag != null) {
-         int version = NbtUtils.getDataVersion(chunkTag);
-         int latestVersion = SharedConstants.getCurrentVersion().dataVersion().version();
-         boolean changed = false;
-
-         Int2ObjectMap.Entry<TagModifier> tagFixer;
-         for(ObjectIterator var7 = this.tagModifiers.int2ObjectEntrySet().iterator(); var7.hasNext(); changed |= ((TagModifier)tagFixer.getValue()).modifyTagAfterFix(pos, chunkTag)) {
-            tagFixer = (Int2ObjectMap.Entry)var7.next();
-            int neededVersion = tagFixer.getIntKey();
-            chunkTag = this.upgradeTag(storage, chunkTag, neededVersion);
+   protected @Nullable CompoundTag tryUpgradeOnePosition(final SimpleRegionStorage storage, final ChunkPos pos, final @Nullable CompoundTag chunkTag) {
+      if (chunkTag == null) {
+         return null;
+      } else if (NbtUtils.getDataVersion(chunkTag) < storage.legacyFixerTargetVersion()) {
+         synchronized(this.legacyFixLock) {
+            return this.upgradeOnePosition(storage, pos, chunkTag);
          }
+      } else {
+         return this.upgradeOnePosition(storage, pos, chunkTag);
+      }
+   }
 
-         CompoundTag upgradedTag = this.upgradeTag(storage, chunkTag, latestVersion);
-         changed |= version < latestVersion;
-         if (changed || this.recreateRegionFiles) {
-            if (this.previousWriteFuture != null) {
-               this.previousWriteFuture.join();
-            }
+   private @Nullable CompoundTag upgradeOnePosition(final SimpleRegionStorage storage, final ChunkPos pos, CompoundTag chunkTag) {
+      int version = NbtUtils.getDataVersion(chunkTag);
+      int latestVersion = SharedConstants.getCurrentVersion().dataVersion().version();
+      boolean changed = false;
 
-            this.previousWriteFuture = storage.write(pos, upgradedTag);
-            return true;
-         }
+      Int2ObjectMap.Entry<TagModifier> tagFixer;
+      for(ObjectIterator var7 = this.tagModifiers.int2ObjectEntrySet().iterator(); var7.hasNext(); changed |= ((TagModifier)tagFixer.getValue()).modifyTagAfterFix(pos, chunkTag)) {
+         tagFixer = (Int2ObjectMap.Entry)var7.next();
+         int neededVersion = tagFixer.getIntKey();
+         chunkTag = this.upgradeTag(storage, chunkTag, neededVersion);
       }
 
-      return false;
+      CompoundTag upgradedTag = this.upgradeTag(storage, chunkTag, latestVersion);
+      changed |= version < latestVersion;
+      return !changed && !this.recreateRegionFiles ? null : upgradedTag;
    }
 
    protected CompoundTag upgradeTag(final SimpleRegionStorage storage, final CompoundTag chunkTag, final int targetVersion) {
       return storage.upgradeChunkTag(chunkTag, this.defaultVersion, this.dataFixContextTag, targetVersion);
    }
 
-   private void onFileFinished(final RegionFile regionFile) {
+   private void onFileFinished(final SimpleRegionStorage storage, final FileToUpgrade fileToUpgrade) {
       if (this.recreateRegionFiles) {
          if (this.previousWriteFuture != null) {
             this.previousWriteFuture.join();
          }
 
-         Path filePath = regionFile.getPath();
+         ChunkPos firstChunk = (ChunkPos)fileToUpgrade.chunksToUpgrade().get(0);
+         Path filePath = fileToUpgrade.file().getPath();
          Path directoryPath = filePath.getParent();
          Path newFilePath = resolveRecreateDirectory(directoryPath).resolve(filePath.getFileName().toString());
 
          try {
+            storage.closeRegion(firstChunk.getRegionX(), firstChunk.getRegionZ()).join();
             if (newFilePath.toFile().exists()) {
                Files.delete(filePath);
                Files.move(newFilePath, filePath);
             } else {
                LOGGER.error("Failed to replace an old region file. New file {} does not exist.", newFilePath);
             }
-         } catch (IOException e) {
+         } catch (IOException | CompletionException e) {
             LOGGER.error("Failed to replace an old region file", e);
          }
 
@@ -352,6 +405,20 @@ public class RegionStorageUpgrader {
       }
    }
 
+   private static class FileState {
+      private final FileToUpgrade fileToUpgrade;
+      private final int nextIndex;
+      private boolean converted = true;
+
+      private FileState(final FileToUpgrade fileToUpgrade, final int nextIndex) {
+         this.fileToUpgrade = fileToUpgrade;
+         this.nextIndex = nextIndex;
+      }
+   }
+
+   private static record PendingChunk(FileState file, ChunkPos pos, CompletableFuture result, boolean lastInFile) {
+   }
+
    @FunctionalInterface
    public interface TagModifier {
       boolean modifyTagAfterFix(final ChunkPos pos, final CompoundTag upgradedTag);
@@ -72,6 +72,7 @@ import net.minecraft.world.item.enchantment.EnchantmentEffectComponents;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.item.enchantment.ItemEnchantments;
 import net.minecraft.world.item.enchantment.providers.VanillaEnchantmentProviders;
+import net.minecraft.world.level.CollisionGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.LevelReader;
@@ -81,6 +82,7 @@ import net.minecraft.world.level.gamerules.GameRules;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.pathfinder.Path;
 import net.minecraft.world.level.pathfinder.PathType;
+import net.minecraft.world.level.pathfinder.PathfindingMob;
 import net.minecraft.world.level.storage.ValueInput;
 import net.minecraft.world.level.storage.ValueOutput;
 import net.minecraft.world.level.storage.loot.LootParams;
@@ -92,7 +94,7 @@ import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.ticks.ContainerSingleItem;
 import org.jspecify.annotations.Nullable;
 
-public abstract class Mob extends LivingEntity implements Targeting, EquipmentUser, Leashable {
+public abstract class Mob extends LivingEntity implements Targeting, EquipmentUser, Leashable, PathfindingMob {
    private static final EntityDataAccessor DATA_MOB_FLAGS_ID;
    private static final int MOB_FLAG_NO_AI = 1;
    private static final int MOB_FLAG_LEFTHANDED = 2;
@@ -198,6 +200,10 @@ public abstract class Mob extends LivingEntity implements Targeting, EquipmentUs
       this.pathfindingMalus.put(pathType, cost);
    }
 
+   public boolean noPathfindingCollision(final CollisionGetter level, final AABB aabb) {
+      return level.noCollision(this, aabb);
+   }
+
    public void onPathfindingStart() {
    }
 
@@ -734,6 +740,7 @@ public abstract class Mob extends LivingEntity implements Targeting, EquipmentUs
       }
 
       profiler.push("navigation");
+      this.navigation.deliverPendingPath();
       this.navigation.tick();
       profiler.pop();
       profiler.push("mob tick");
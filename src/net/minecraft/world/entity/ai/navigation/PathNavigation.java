@@ -1,7 +1,10 @@
 package net.minecraft.world.entity.ai.navigation;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.minecraft.core.BlockPos;
@@ -19,11 +22,14 @@ import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.PathNavigationRegionSnapshot;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.pathfinder.Node;
 import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.Path;
 import net.minecraft.world.level.pathfinder.PathFinder;
+import net.minecraft.world.level.pathfinder.PathRequests;
+import net.minecraft.world.level.pathfinder.PathfindingMobSnapshot;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
 import net.minecraft.world.phys.HitResult;
@@ -34,6 +40,8 @@ public abstract class PathNavigation {
    private static final int MAX_TIME_RECOMPUTE = 20;
    private static final int STUCK_CHECK_INTERVAL = 100;
    private static final float STUCK_THRESHOLD_DISTANCE_FACTOR = 0.25F;
+   private static final int MAX_SNAPSHOT_RADIUS = 48;
+   private static volatile boolean asyncPathfinding;
    protected final Mob mob;
    protected final Level level;
    protected @Nullable Path path;
@@ -55,6 +63,12 @@ public abstract class PathNavigation {
    private final PathFinder pathFinder;
    private boolean isStuck;
    private float requiredPathLength;
+   private int maxVisitedNodes;
+   private @Nullable PathFinder asyncPathFinder;
+   private @Nullable NodeEvaluator asyncNodeEvaluator;
+   private @Nullable CompletableFuture asyncSearch;
+   private @Nullable PendingPath pendingPath;
+   private @Nullable DeferredRequest deferredRequest;
 
    public PathNavigation(final Mob mob, final Level level) {
       this.lastStuckCheckPos = Vec3.ZERO;
@@ -64,7 +78,8 @@ public abstract class PathNavigation {
       this.requiredPathLength = 16.0F;
       this.mob = mob;
       this.level = level;
-      this.pathFinder = this.createPathFinder(Mth.floor(mob.getAttributeBaseValue(Attributes.FOLLOW_RANGE) * (double)16.0F));
+      this.maxVisitedNodes = Mth.floor(mob.getAttributeBaseValue(Attributes.FOLLOW_RANGE) * (double)16.0F);
+      this.pathFinder = this.createPathFinder(this.maxVisitedNodes);
       if (level instanceof ServerLevel serverLevel) {
          ServerDebugSubscribers subscribers = serverLevel.getServer().debugSubscribers();
          this.pathFinder.setCaptureDebug(() -> subscribers.hasAnySubscriberFor(DebugSubscriptions.ENTITY_PATHS));
@@ -72,9 +87,18 @@ public abstract class PathNavigation {
 
    }
 
+   public static void configureAsyncPathfinding(final boolean enabled) {
+      asyncPathfinding = enabled;
+   }
+
    public void updatePathfinderMaxVisitedNodes() {
       int maxVisitedNodes = Mth.floor(this.getMaxPathLength() * 16.0F);
+      this.maxVisitedNodes = maxVisitedNodes;
       this.pathFinder.setMaxVisitedNodes(maxVisitedNodes);
+      if (this.asyncPathFinder != null) {
+         this.asyncPathFinder.setMaxVisitedNodes(maxVisitedNodes);
+      }
+
    }
 
    public void setRequiredPathLength(final float length) {
@@ -100,6 +124,10 @@ public abstract class PathNavigation {
 
    protected abstract PathFinder createPathFinder(final int maxVisitedNodes);
 
+   protected PathFinder createPathFinder(final NodeEvaluator nodeEvaluator, final int maxVisitedNodes) {
+      return new PathFinder(nodeEvaluator, maxVisitedNodes);
+   }
+
    public void setSpeedModifier(final double speedModifier) {
       this.speedModifier = speedModifier;
    }
@@ -107,8 +135,14 @@ public abstract class PathNavigation {
    public void recomputePath() {
       if (this.level.getGameTime() - this.timeLastRecompute > 20L && this.canUpdatePath()) {
          if (this.targetPos != null) {
+            Path previousPath = this.path;
             this.path = null;
+            this.beginDeferring(this.speedModifier, true);
             this.path = this.createPath(this.targetPos, this.reachRange);
+            if (this.endDeferring()) {
+               this.path = previousPath;
+            }
+
             this.timeLastRecompute = this.level.getGameTime();
             this.hasDelayedRecomputation = false;
          }
@@ -155,6 +189,8 @@ public abstract class PathNavigation {
          return null;
       } else if (this.path != null && !this.path.isDone() && targets.contains(this.targetPos)) {
          return this.path;
+      } else if (this.deferredRequest != null && this.level instanceof ServerLevel serverLevel && this.requestPath(serverLevel, targets, radiusOffset, above, reachRange, maxPathLength)) {
+         return null;
       } else {
          ProfilerFiller profiler = Profiler.get();
          profiler.push("pathfind");
@@ -182,11 +218,105 @@ public abstract class PathNavigation {
    }
 
    public boolean moveTo(final Entity target, final double speedModifier) {
+      this.beginDeferring(speedModifier, false);
       Path newPath = this.createPath((Entity)target, 1);
-      return newPath != null && this.moveTo(newPath, speedModifier);
+      if (this.endDeferring()) {
+         return !this.isDone();
+      } else {
+         return newPath != null && this.moveTo(newPath, speedModifier);
+      }
+   }
+
+   private void beginDeferring(final double speedModifier, final boolean replacePath) {
+      this.pendingPath = null;
+      if (asyncPathfinding && this.level instanceof ServerLevel) {
+         this.deferredRequest = new DeferredRequest(speedModifier, replacePath);
+      }
+
+   }
+
+   private boolean endDeferring() {
+      this.deferredRequest = null;
+      return this.pendingPath != null;
+   }
+
+   private boolean requestPath(final ServerLevel level, final Set targets, final int radiusOffset, final boolean above, final int reachRange, final float maxPathLength) {
+      int radius = (int)(maxPathLength + (float)radiusOffset);
+      if (this.nodeEvaluator.supportsSnapshotSearch() && radius <= 48) {
+         PathfindingMobSnapshot mob = PathfindingMobSnapshot.of(this.mob);
+         PathRequests.Key key = new PathRequests.Key(this.mob.getType(), mob.blockPosition(), mob.getBbWidth(), mob.getBbHeight(), mob.isInWater(), mob.onGround(), mob.maxUpStep(), mob.getMaxFallDistance(), mob.pathfindingMalus(), above, radiusOffset, targets, reachRange, maxPathLength, this.maxVisitedNodesMultiplier, this.nodeEvaluator.canPassDoors(), this.nodeEvaluator.canOpenDoors(), this.nodeEvaluator.canFloat(), this.nodeEvaluator.canWalkOverFences());
+         CompletableFuture<Path> future = level.getPathRequests().get(key);
+         if (future == null) {
+            if (this.asyncSearch != null && !this.asyncSearch.isDone()) {
+               return false;
+            }
+
+            ProfilerFiller profiler = Profiler.get();
+            profiler.push("pathfindRequest");
+            BlockPos fromPos = above ? mob.blockPosition().above() : mob.blockPosition();
+            PathNavigationRegionSnapshot region = new PathNavigationRegionSnapshot(this.level, fromPos.offset(-radius, -radius, -radius), fromPos.offset(radius, radius, radius), level.getPathRequests());
+            PathFinder pathFinder = this.getAsyncPathFinder(level);
+            float maxVisitedNodesMultiplier = this.maxVisitedNodesMultiplier;
+            future = level.getPathRequests().submit(key, () -> pathFinder.findPath(region, mob, targets, maxPathLength, reachRange, maxVisitedNodesMultiplier));
+            this.asyncSearch = future;
+            profiler.pop();
+         }
+
+         this.pendingPath = new PendingPath(future, reachRange, this.deferredRequest.speedModifier(), this.deferredRequest.replacePath());
+         return true;
+      } else {
+         return false;
+      }
+   }
+
+   private PathFinder getAsyncPathFinder(final ServerLevel level) {
+      if (this.asyncPathFinder == null) {
+         this.asyncNodeEvaluator = new WalkNodeEvaluator();
+         this.asyncPathFinder = this.createPathFinder(this.asyncNodeEvaluator, this.maxVisitedNodes);
+         ServerDebugSubscribers subscribers = level.getServer().debugSubscribers();
+         this.asyncPathFinder.setCaptureDebug(() -> subscribers.hasAnySubscriberFor(DebugSubscriptions.ENTITY_PATHS));
+      }
+
+      this.asyncNodeEvaluator.setCanPassDoors(this.nodeEvaluator.canPassDoors());
+      this.asyncNodeEvaluator.setCanOpenDoors(this.nodeEvaluator.canOpenDoors());
+      this.asyncNodeEvaluator.setCanFloat(this.nodeEvaluator.canFloat());
+      this.asyncNodeEvaluator.setCanWalkOverFences(this.nodeEvaluator.canWalkOverFences());
+      return this.asyncPathFinder;
+   }
+
+   public void deliverPendingPath() {
+      if (this.pendingPath != null && this.pendingPath.result().isDone()) {
+         PendingPath pendingPath = this.pendingPath;
+         this.pendingPath = null;
+         Path path = pendingPath.result().isCompletedExceptionally() ? null : (Path)pendingPath.result().join();
+         if (path != null) {
+            path = copyPath(path);
+            this.targetPos = path.getTarget();
+            this.reachRange = pendingPath.reachRange();
+            this.resetStuckTimeout();
+         }
+
+         if (pendingPath.replacePath()) {
+            this.path = path;
+         } else if (path != null) {
+            this.moveTo(path, pendingPath.speedModifier());
+         }
+
+      }
+   }
+
+   private static Path copyPath(final Path path) {
+      List<Node> nodes = new ArrayList(path.getNodeCount());
+
+      for(int i = 0; i < path.getNodeCount(); ++i) {
+         nodes.add(path.getNode(i));
+      }
+
+      return new Path(nodes, path.getTarget(), path.canReach());
    }
 
    public boolean moveTo(final @Nullable Path newPath, final double speedModifier) {
+      this.pendingPath = null;
       if (newPath == null) {
          this.path = null;
          return false;
@@ -345,6 +475,7 @@ public abstract class PathNavigation {
 
    public void stop() {
       this.path = null;
+      this.pendingPath = null;
    }
 
    protected abstract Vec3 getTempMobPos();
@@ -423,4 +554,10 @@ public abstract class PathNavigation {
    public void setCanOpenDoors(final boolean canOpenDoors) {
       this.nodeEvaluator.setCanOpenDoors(canOpenDoors);
    }
+
+   private static record PendingPath(CompletableFuture result, int reachRange, double speedModifier, boolean replacePath) {
+   }
+
+   private static record DeferredRequest(double speedModifier, boolean replacePath) {
+   }
 }
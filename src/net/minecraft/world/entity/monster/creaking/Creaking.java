@@ -564,6 +564,10 @@ public class Creaking extends Monster {
             return homeDistance > (double)1024.0F && homeDistance >= homePos.distSqr(context.mobPosition()) ? PathType.BLOCKED : super.getPathType(context, x, y, z);
          }
       }
+
+      public boolean supportsSnapshotSearch() {
+         return false;
+      }
    }
 
    private class CreakingPathNavigation extends GroundPathNavigation {
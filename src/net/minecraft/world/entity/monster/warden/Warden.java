@@ -63,6 +63,7 @@ import net.minecraft.world.level.gameevent.GameEvent;
 import net.minecraft.world.level.gameevent.PositionSource;
 import net.minecraft.world.level.gameevent.vibrations.VibrationSystem;
 import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.PathFinder;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
@@ -492,7 +493,11 @@ public class Warden extends Monster implements VibrationSystem {
 
          protected PathFinder createPathFinder(final int maxVisitedNodes) {
             this.nodeEvaluator = new WalkNodeEvaluator();
-            return new PathFinder(this.nodeEvaluator, maxVisitedNodes) {
+            return this.createPathFinder(this.nodeEvaluator, maxVisitedNodes);
+         }
+
+         protected PathFinder createPathFinder(final NodeEvaluator nodeEvaluator, final int maxVisitedNodes) {
+            return new PathFinder(nodeEvaluator, maxVisitedNodes) {
                {
                   Objects.requireNonNull(<VAR_NAMELESS_ENCLOSURE>);
                }
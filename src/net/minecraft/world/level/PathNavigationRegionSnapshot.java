@@ -0,0 +1,119 @@
+package net.minecraft.world.level;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.pathfinder.PathRequests;
+import org.jspecify.annotations.Nullable;
+
+public class PathNavigationRegionSnapshot extends PathNavigationRegion {
+   private final ChunkSnapshot[][] snapshots;
+   private final ChunkSnapshot missingChunk;
+
+   public PathNavigationRegionSnapshot(final Level level, final BlockPos start, final BlockPos end, final PathRequests requests) {
+      super(level, start, end);
+      int minSectionY = SectionPos.blockToSectionCoord(Math.max(start.getY(), level.getMinY()));
+      int maxSectionY = SectionPos.blockToSectionCoord(Math.min(end.getY(), level.getMaxY()));
+      int sectionCount = Math.max(maxSectionY - minSectionY + 1, 0);
+      this.snapshots = new ChunkSnapshot[this.chunks.length][];
+      this.missingChunk = new ChunkSnapshot(level, minSectionY, new PalettedContainer[0], Blocks.VOID_AIR.defaultBlockState());
+
+      for(int xc = 0; xc < this.chunks.length; ++xc) {
+         this.snapshots[xc] = new ChunkSnapshot[this.chunks[xc].length];
+
+         for(int zc = 0; zc < this.chunks[xc].length; ++zc) {
+            ChunkAccess chunk = this.chunks[xc][zc];
+            if (chunk != null) {
+               PalettedContainer<BlockState>[] states = new PalettedContainer[sectionCount];
+
+               for(int i = 0; i < sectionCount; ++i) {
+                  LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(minSectionY + i));
+                  if (!section.hasOnlyAir()) {
+                     states[i] = requests.getSectionSnapshot(SectionPos.asLong(this.centerX + xc, minSectionY + i, this.centerZ + zc), section);
+                  }
+               }
+
+               this.snapshots[xc][zc] = new ChunkSnapshot(level, minSectionY, states, Blocks.AIR.defaultBlockState());
+            }
+         }
+      }
+
+   }
+
+   private ChunkSnapshot getSnapshot(final int chunkX, final int chunkZ) {
+      int xc = chunkX - this.centerX;
+      int zc = chunkZ - this.centerZ;
+      if (xc >= 0 && xc < this.snapshots.length && zc >= 0 && zc < this.snapshots[xc].length) {
+         ChunkSnapshot snapshot = this.snapshots[xc][zc];
+         return snapshot != null ? snapshot : this.missingChunk;
+      } else {
+         return this.missingChunk;
+      }
+   }
+
+   public BlockGetter getChunkForCollisions(final int chunkX, final int chunkZ) {
+      return this.getSnapshot(chunkX, chunkZ);
+   }
+
+   public @Nullable BlockEntity getBlockEntity(final BlockPos pos) {
+      return null;
+   }
+
+   public BlockState getBlockState(final BlockPos pos) {
+      return this.getSnapshot(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())).getBlockState(pos);
+   }
+
+   public FluidState getFluidState(final BlockPos pos) {
+      return this.getBlockState(pos).getFluidState();
+   }
+
+   private static class ChunkSnapshot implements BlockGetter {
+      private final LevelHeightAccessor heightAccessor;
+      private final int minSectionY;
+      private final PalettedContainer[] states;
+      private final BlockState emptyState;
+
+      private ChunkSnapshot(final LevelHeightAccessor heightAccessor, final int minSectionY, final PalettedContainer[] states, final BlockState emptyState) {
+         this.heightAccessor = heightAccessor;
+         this.minSectionY = minSectionY;
+         this.states = states;
+         this.emptyState = emptyState;
+      }
+
+      public @Nullable BlockEntity getBlockEntity(final BlockPos pos) {
+         return null;
+      }
+
+      public BlockState getBlockState(final BlockPos pos) {
+         if (this.isOutsideBuildHeight(pos)) {
+            return Blocks.VOID_AIR.defaultBlockState();
+         } else {
+            int index = SectionPos.blockToSectionCoord(pos.getY()) - this.minSectionY;
+            if (index >= 0 && index < this.states.length) {
+               PalettedContainer<BlockState> states = this.states[index];
+               return states == null ? Blocks.AIR.defaultBlockState() : (BlockState)states.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+            } else {
+               return this.emptyState;
+            }
+         }
+      }
+
+      public FluidState getFluidState(final BlockPos pos) {
+         return this.getBlockState(pos).getFluidState();
+      }
+
+      public int getMinY() {
+         return this.heightAccessor.getMinY();
+      }
+
+      public int getHeight() {
+         return this.heightAccessor.getHeight();
+      }
+   }
+}
@@ -59,6 +59,7 @@ import net.minecraft.world.level.lighting.LightEngine;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Fluids;
+import net.minecraft.world.level.pathfinder.PathTypeCache;
 import net.minecraft.world.level.storage.TagValueInput;
 import net.minecraft.world.ticks.LevelChunkTicks;
 import net.minecraft.world.ticks.TickContainerAccess;
@@ -261,6 +262,10 @@ public class LevelChunk extends ChunkAccess implements DebugValueSource {
             ((Heightmap)this.heightmaps.get(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES)).update(localX, y, localZ, state);
             ((Heightmap)this.heightmaps.get(Heightmap.Types.OCEAN_FLOOR)).update(localX, y, localZ, state);
             ((Heightmap)this.heightmaps.get(Heightmap.Types.WORLD_SURFACE)).update(localX, y, localZ, state);
+            if (!this.level.isClientSide()) {
+               PathTypeCache.invalidate(this, pos);
+            }
+
             boolean isEmpty = section.hasOnlyAir();
             if (wasEmpty != isEmpty) {
                this.level.getChunkSource().getLightEngine().updateSectionStatus(pos, isEmpty);
@@ -1,5 +1,8 @@
 package net.minecraft.world.level.chunk;
 
+import it.unimi.dsi.fastutil.shorts.Short2ShortMap;
+import it.unimi.dsi.fastutil.shorts.Short2ShortOpenHashMap;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Predicate;
 import net.minecraft.core.Holder;
@@ -9,6 +12,7 @@ import net.minecraft.world.level.biome.BiomeResolver;
 import net.minecraft.world.level.biome.Climate;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.FluidState;
+import org.jspecify.annotations.Nullable;
 
 public class LevelChunkSection {
    public static final int SECTION_WIDTH = 16;
@@ -20,6 +24,10 @@ public class LevelChunkSection {
    private short tickingFluidCount;
    private final PalettedContainer states;
    private PalettedContainerRO biomes;
+   private short @Nullable [] randomTickCandidates;
+   private int randomTickCandidateCount;
+   private @Nullable Short2ShortMap randomTickCandidateSlots;
+   private byte @Nullable [] pathTypes;
 
    private LevelChunkSection(final LevelChunkSection source) {
       this.nonEmptyBlockCount = source.nonEmptyBlockCount;
@@ -27,6 +35,13 @@ public class LevelChunkSection {
       this.tickingFluidCount = source.tickingFluidCount;
       this.states = source.states.copy();
       this.biomes = source.biomes.copy();
+      if (source.randomTickCandidates != null) {
+         this.randomTickCandidates = (short[])source.randomTickCandidates.clone();
+         this.randomTickCandidateCount = source.randomTickCandidateCount;
+         this.randomTickCandidateSlots = new Short2ShortOpenHashMap(source.randomTickCandidateSlots);
+         this.randomTickCandidateSlots.defaultReturnValue((short)-1);
+      }
+
    }
 
    public LevelChunkSection(final PalettedContainer states, final PalettedContainerRO biomes) {
@@ -92,9 +107,79 @@ public class LevelChunkSection {
          ++this.tickingFluidCount;
       }
 
+      if (this.randomTickCandidates != null) {
+         boolean wasCandidate = isRandomTickCandidate(previous);
+         boolean candidate = isRandomTickCandidate(state);
+         if (wasCandidate != candidate) {
+            short index = (short)(sectionY << 8 | sectionZ << 4 | sectionX);
+            if (candidate) {
+               this.addRandomTickCandidate(index);
+            } else {
+               this.removeRandomTickCandidate(index);
+            }
+         }
+      }
+
       return previous;
    }
 
+   private static boolean isRandomTickCandidate(final BlockState state) {
+      return state.isRandomlyTicking() || state.getFluidState().isRandomlyTicking();
+   }
+
+   public int getRandomTickCandidateCount() {
+      if (this.randomTickCandidates == null) {
+         this.rebuildRandomTickCandidates();
+      }
+
+      return this.randomTickCandidateCount;
+   }
+
+   public int getRandomTickCandidate(final int slot) {
+      return this.randomTickCandidates[slot];
+   }
+
+   private void rebuildRandomTickCandidates() {
+      int capacity = Math.min(Math.max(this.tickingBlockCount + this.tickingFluidCount, 16), 4096);
+      this.randomTickCandidates = new short[capacity];
+      this.randomTickCandidateCount = 0;
+      this.randomTickCandidateSlots = new Short2ShortOpenHashMap(capacity);
+      this.randomTickCandidateSlots.defaultReturnValue((short)-1);
+      if (this.isRandomlyTicking() && this.states.maybeHas((state) -> isRandomTickCandidate((BlockState)state))) {
+         for(int y = 0; y < 16; ++y) {
+            for(int z = 0; z < 16; ++z) {
+               for(int x = 0; x < 16; ++x) {
+                  if (isRandomTickCandidate((BlockState)this.states.get(x, y, z))) {
+                     this.addRandomTickCandidate((short)(y << 8 | z << 4 | x));
+                  }
+               }
+            }
+         }
+      }
+
+   }
+
+   private void addRandomTickCandidate(final short index) {
+      if (this.randomTickCandidateCount == this.randomTickCandidates.length) {
+         this.randomTickCandidates = Arrays.copyOf(this.randomTickCandidates, Math.min(this.randomTickCandidates.length * 2, 4096));
+      }
+
+      this.randomTickCandidateSlots.put(index, (short)this.randomTickCandidateCount);
+      this.randomTickCandidates[this.randomTickCandidateCount++] = index;
+   }
+
+   private void removeRandomTickCandidate(final short index) {
+      int slot = this.randomTickCandidateSlots.remove(index);
+      if (slot >= 0) {
+         short last = this.randomTickCandidates[--this.randomTickCandidateCount];
+         if (slot != this.randomTickCandidateCount) {
+            this.randomTickCandidates[slot] = last;
+            this.randomTickCandidateSlots.put(last, (short)slot);
+         }
+      }
+
+   }
+
    public boolean hasOnlyAir() {
       return this.nonEmptyBlockCount == 0;
    }
@@ -146,6 +231,21 @@ public class LevelChunkSection {
       this.nonEmptyBlockCount = (short)blockCounter.nonEmptyBlockCount;
       this.tickingBlockCount = (short)blockCounter.tickingBlockCount;
       this.tickingFluidCount = (short)blockCounter.tickingFluidCount;
+      this.randomTickCandidates = null;
+      this.randomTickCandidateSlots = null;
+      this.pathTypes = null;
+   }
+
+   public byte @Nullable [] getPathTypes() {
+      return this.pathTypes;
+   }
+
+   public byte[] getOrCreatePathTypes() {
+      if (this.pathTypes == null) {
+         this.pathTypes = new byte[8192];
+      }
+
+      return this.pathTypes;
    }
 
    public PalettedContainer getStates() {
@@ -159,6 +259,9 @@ public class LevelChunkSection {
    public void read(final FriendlyByteBuf buffer) {
       this.nonEmptyBlockCount = buffer.readShort();
       this.states.read(buffer);
+      this.randomTickCandidates = null;
+      this.randomTickCandidateSlots = null;
+      this.pathTypes = null;
       PalettedContainer<Holder<Biome>> biomes = this.biomes.recreate();
       biomes.read(buffer);
       this.biomes = biomes;
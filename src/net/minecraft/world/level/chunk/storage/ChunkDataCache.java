@@ -0,0 +1,141 @@
+package net.minecraft.world.level.chunk.storage;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import net.minecraft.world.level.ChunkPos;
+import org.jspecify.annotations.Nullable;
+
+public final class ChunkDataCache {
+   private static final int MAX_ENTRY_FRACTION = 16;
+   private static final int BLOCK_SIZE = 4096;
+   private static volatile @Nullable ChunkDataCache instance;
+   private final long capacity;
+   private final Arena arena;
+   private final MemorySegment slab;
+   private final IntArrayList freeBlocks;
+   private final LinkedHashMap entries = new LinkedHashMap(256, 0.75F, true);
+   private long size;
+   private long hits;
+   private long misses;
+   private long evictions;
+
+   private ChunkDataCache(final long capacity) {
+      int blocks = (int)(capacity / 4096L);
+      this.capacity = (long)blocks * 4096L;
+      this.arena = Arena.ofShared();
+      this.slab = this.arena.allocate(this.capacity, 4096L);
+      this.freeBlocks = new IntArrayList(blocks);
+
+      for(int block = blocks - 1; block >= 0; --block) {
+         this.freeBlocks.add(block);
+      }
+
+   }
+
+   public static void configure(final int megabytes) {
+      ChunkDataCache previous = instance;
+      instance = megabytes > 0 ? new ChunkDataCache((long)megabytes * 1024L * 1024L) : null;
+      if (previous != null) {
+         previous.close();
+      }
+
+   }
+
+   public static @Nullable ChunkDataCache get() {
+      return instance;
+   }
+
+   public synchronized @Nullable ByteBuffer get(final Path folder, final ChunkPos pos) {
+      Entry entry = (Entry)this.entries.get(new Key(folder, pos));
+      if (entry == null) {
+         ++this.misses;
+         return null;
+      } else {
+         ++this.hits;
+         byte[] bytes = new byte[entry.length()];
+
+         for(int i = 0; i < entry.blocks().length; ++i) {
+            int offset = i * 4096;
+            MemorySegment.copy(this.slab, ValueLayout.JAVA_BYTE, (long)entry.blocks()[i] * 4096L, bytes, offset, Math.min(4096, bytes.length - offset));
+         }
+
+         return ByteBuffer.wrap(bytes);
+      }
+   }
+
+   public synchronized void put(final Path folder, final ChunkPos pos, final ByteBuffer data) {
+      Key key = new Key(folder, pos);
+      this.remove(key);
+      int length = data.remaining();
+      if (this.slab.scope().isAlive() && (long)length <= this.capacity / 16L) {
+         int blockCount = (length + 4096 - 1) / 4096;
+         Iterator<Map.Entry<Key, Entry>> iterator = this.entries.entrySet().iterator();
+
+         while(this.freeBlocks.size() < blockCount && iterator.hasNext()) {
+            this.release((Entry)((Map.Entry)iterator.next()).getValue());
+            iterator.remove();
+            ++this.evictions;
+         }
+
+         if (this.freeBlocks.size() >= blockCount) {
+            MemorySegment source = MemorySegment.ofBuffer(data);
+            int[] blocks = new int[blockCount];
+
+            for(int i = 0; i < blockCount; ++i) {
+               blocks[i] = this.freeBlocks.removeInt(this.freeBlocks.size() - 1);
+               long offset = (long)i * 4096L;
+               MemorySegment.copy(source, offset, this.slab, (long)blocks[i] * 4096L, Math.min(4096L, (long)length - offset));
+            }
+
+            this.entries.put(key, new Entry(length, blocks));
+            this.size += (long)blockCount * 4096L;
+         }
+      }
+   }
+
+   public synchronized void invalidate(final Path folder, final ChunkPos pos) {
+      this.remove(new Key(folder, pos));
+   }
+
+   private void remove(final Key key) {
+      Entry previous = (Entry)this.entries.remove(key);
+      if (previous != null) {
+         this.release(previous);
+      }
+
+   }
+
+   private void release(final Entry entry) {
+      for(int block : entry.blocks()) {
+         this.freeBlocks.add(block);
+      }
+
+      this.size -= (long)entry.blocks().length * 4096L;
+   }
+
+   private synchronized void close() {
+      this.entries.clear();
+      this.freeBlocks.clear();
+      this.size = 0L;
+      this.arena.close();
+   }
+
+   public synchronized String toString() {
+      long lookups = this.hits + this.misses;
+      return String.format(Locale.ROOT, "%d entries, %d/%d bytes, %d hits, %d misses (%.1f%% hit rate), %d evictions", this.entries.size(), this.size, this.capacity, this.hits, this.misses, lookups == 0L ? 0.0 : (double)this.hits * 100.0 / (double)lookups, this.evictions);
+   }
+
+   private static record Key(Path folder, ChunkPos pos) {
+   }
+
+   private static record Entry(int length, int[] blocks) {
+   }
+}
@@ -6,4 +6,8 @@ import net.minecraft.world.level.ChunkPos;
 
 public interface ChunkScanAccess {
    CompletableFuture scanChunk(final ChunkPos pos, StreamTagVisitor visitor);
+
+   default CompletableFuture scanChunkSummary(final ChunkPos pos, final StreamTagVisitor visitor) {
+      return this.scanChunk(pos, visitor);
+   }
 }
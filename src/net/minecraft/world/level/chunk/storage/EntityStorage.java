@@ -135,6 +135,10 @@ public class EntityStorage implements EntityPersistentStorage {
       this.entityDeserializerQueue.runAll();
    }
 
+   public CompletableFuture compactRegions() {
+      return this.simpleRegionStorage.compactRegions();
+   }
+
    public void close() throws IOException {
       this.simpleRegionStorage.close();
    }
@@ -1,24 +1,38 @@
 package net.minecraft.world.level.chunk.storage;
 
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.BitSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.SequencedMap;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.StreamTagVisitor;
 import net.minecraft.nbt.Tag;
 import net.minecraft.nbt.visitors.CollectFields;
 import net.minecraft.nbt.visitors.FieldSelector;
+import net.minecraft.util.Mth;
 import net.minecraft.util.Unit;
 import net.minecraft.util.Util;
 import net.minecraft.util.thread.PriorityConsecutiveExecutor;
@@ -31,15 +45,38 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
    public static final Supplier STORE_EMPTY = () -> null;
    private static final Logger LOGGER = LogUtils.getLogger();
    private final AtomicBoolean shutdownRequested = new AtomicBoolean();
-   private final PriorityConsecutiveExecutor consecutiveExecutor;
-   private final RegionFileStorage storage;
-   private final SequencedMap pendingWrites = new LinkedHashMap();
+   private final Shard[] shards;
+   private final Path folder;
    private final Long2ObjectLinkedOpenHashMap regionCacheForBlender = new Long2ObjectLinkedOpenHashMap();
    private static final int REGION_CACHE_SIZE = 1024;
+   private static final int MAX_BATCH_SIZE = 1024;
+   private static final int MAX_SHARDS = 64;
+   private static final long JOURNAL_IDLE_COMPACTION_MILLIS = 30000L;
+   private static volatile boolean batchedWrites;
+   private static volatile int shardCount = 1;
 
    protected IOWorker(final RegionStorageInfo info, final Path dir, final boolean sync) {
-      this.storage = new RegionFileStorage(info, dir, sync);
-      this.consecutiveExecutor = new PriorityConsecutiveExecutor(IOWorker.Priority.values().length, Util.ioPool(), "IOWorker-" + info.type());
+      int count = shardCount;
+      this.folder = dir;
+      this.shards = new Shard[count];
+      if (count == 1) {
+         this.shards[0] = new Shard(new RegionFileStorage(info, dir, sync), "IOWorker-" + info.type());
+      } else {
+         RegionFileStorage.DictionaryState dictionaries = new RegionFileStorage.DictionaryState(info, dir);
+
+         for(int i = 0; i < count; ++i) {
+            this.shards[i] = new Shard(new RegionFileStorage(info, dir, sync, dictionaries), "IOWorker-" + info.type() + "-" + i);
+         }
+      }
+
+   }
+
+   public static void configureBatchedWrites(final boolean enabled) {
+      batchedWrites = enabled;
+   }
+
+   public static void configureShards(final int shards) {
+      shardCount = Mth.clamp(shards, 1, 64);
    }
 
    public boolean isOldChunkAround(final ChunkPos pos, final int range) {
@@ -96,7 +133,7 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
             CollectFields collectFields = new CollectFields(new FieldSelector[]{new FieldSelector(IntTag.TYPE, "DataVersion"), new FieldSelector(CompoundTag.TYPE, "blending_data")});
 
             try {
-               this.scanChunk(pos, collectFields).join();
+               this.scanChunkSummary(pos, collectFields).join();
             } catch (Exception e) {
                LOGGER.warn("Failed to scan chunk {}", pos, e);
                return;
@@ -124,22 +161,24 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
    }
 
    public CompletableFuture store(final ChunkPos pos, final Supplier supplier) {
-      return this.submitTask(() -> {
+      Shard shard = this.shardFor(pos);
+      return shard.submitTask(() -> {
          CompoundTag data = (CompoundTag)supplier.get();
-         PendingStore pendingStore = (PendingStore)this.pendingWrites.computeIfAbsent(pos, (p) -> new PendingStore(data));
+         PendingStore pendingStore = shard.getOrCreatePendingWrite(pos, data);
          pendingStore.data = data;
          return pendingStore.result;
       }).thenCompose(Function.identity());
    }
 
    public CompletableFuture loadAsync(final ChunkPos pos) {
-      return this.submitThrowingTask(() -> {
-         PendingStore pendingStore = (PendingStore)this.pendingWrites.get(pos);
+      Shard shard = this.shardFor(pos);
+      return shard.submitThrowingTask(() -> {
+         PendingStore pendingStore = (PendingStore)shard.pendingWrites.get(pos);
          if (pendingStore != null) {
             return Optional.ofNullable(pendingStore.copyData());
          } else {
             try {
-               CompoundTag data = this.storage.read(pos);
+               CompoundTag data = shard.storage.read(pos);
                return Optional.ofNullable(data);
             } catch (Exception e) {
                LOGGER.warn("Failed to read chunk {}", pos, e);
@@ -149,29 +188,92 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
       });
    }
 
+   public CompletableFuture loadBytesAsync(final ChunkPos pos) {
+      Shard shard = this.shardFor(pos);
+      return shard.submitThrowingTask(() -> {
+         PendingStore pendingStore = (PendingStore)shard.pendingWrites.get(pos);
+         if (pendingStore != null) {
+            if (pendingStore.data == null) {
+               return Optional.empty();
+            } else {
+               ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+               NbtIo.write(pendingStore.data, (DataOutput)(new DataOutputStream(bytes)));
+               return Optional.of(bytes.toByteArray());
+            }
+         } else {
+            try {
+               return Optional.ofNullable(shard.storage.readBytes(pos));
+            } catch (Exception e) {
+               LOGGER.warn("Failed to read chunk {}", pos, e);
+               throw e;
+            }
+         }
+      });
+   }
+
    public CompletableFuture synchronize(final boolean flush) {
-      CompletableFuture<Void> currentWrites = this.submitTask(() -> CompletableFuture.allOf((CompletableFuture[])this.pendingWrites.values().stream().map((store) -> store.result).toArray((x$0) -> new CompletableFuture[x$0]))).thenCompose(Function.identity());
-      return flush ? currentWrites.thenCompose((ignore) -> this.submitThrowingTask(() -> {
+      if (this.shards.length == 1) {
+         return this.shards[0].synchronize(flush);
+      } else {
+         CompletableFuture<?>[] futures = new CompletableFuture[this.shards.length];
+
+         for(int i = 0; i < this.shards.length; ++i) {
+            futures[i] = this.shards[i].synchronize(flush);
+         }
+
+         return CompletableFuture.allOf(futures);
+      }
+   }
+
+   public CompletableFuture closeRegion(final int regionX, final int regionZ) {
+      Shard shard = this.shardFor(ChunkPos.minFromRegion(regionX, regionZ));
+      return shard.synchronize(false).thenCompose((ignore) -> shard.submitThrowingTask(() -> {
             try {
-               this.storage.flush();
+               shard.storage.closeRegion(regionX, regionZ);
                return null;
             } catch (Exception e) {
-               LOGGER.warn("Failed to synchronize chunks", e);
+               LOGGER.warn("Failed to close region file r.{}.{}.mca", new Object[]{regionX, regionZ, e});
                throw e;
             }
-         })) : currentWrites.thenCompose((ignore) -> this.submitTask(() -> null));
+         }));
+   }
+
+   public CompletableFuture compactRegions() {
+      return CompletableFuture.supplyAsync(() -> RegionFileStorage.listRegions(this.folder), Util.ioPool()).thenCompose((regions) -> {
+         CompletableFuture<RegionCompactionStats> result = CompletableFuture.completedFuture(RegionCompactionStats.EMPTY);
+         LongIterator var3 = regions.iterator();
+
+         while(var3.hasNext()) {
+            long region = var3.nextLong();
+            int regionX = ChunkPos.getX(region);
+            int regionZ = ChunkPos.getZ(region);
+            Shard shard = this.shardFor(ChunkPos.minFromRegion(regionX, regionZ));
+            CompletableFuture<RegionCompactionStats> compacted = shard.submitTask(() -> {
+               try {
+                  return shard.storage.compactRegion(regionX, regionZ);
+               } catch (Exception e) {
+                  LOGGER.error("Failed to compact region file r.{}.{}.mca", new Object[]{regionX, regionZ, e});
+                  return RegionCompactionStats.EMPTY;
+               }
+            });
+            result = result.thenCombine(compacted, RegionCompactionStats::add);
+         }
+
+         return result;
+      });
    }
 
    public CompletableFuture scanChunk(final ChunkPos pos, final StreamTagVisitor visitor) {
-      return this.submitThrowingTask(() -> {
+      Shard shard = this.shardFor(pos);
+      return shard.submitThrowingTask(() -> {
          try {
-            PendingStore pendingStore = (PendingStore)this.pendingWrites.get(pos);
+            PendingStore pendingStore = (PendingStore)shard.pendingWrites.get(pos);
             if (pendingStore != null) {
                if (pendingStore.data != null) {
                   pendingStore.data.acceptAsRoot(visitor);
                }
             } else {
-               this.storage.scanChunk(pos, visitor);
+               shard.storage.scanChunk(pos, visitor);
             }
 
             return null;
@@ -182,73 +284,46 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
       });
    }
 
-   private CompletableFuture submitThrowingTask(final ThrowingSupplier task) {
-      return this.consecutiveExecutor.scheduleWithResult(IOWorker.Priority.FOREGROUND.ordinal(), (future) -> {
-         if (!this.shutdownRequested.get()) {
-            try {
-               future.complete(task.get());
-            } catch (Exception e) {
-               future.completeExceptionally(e);
+   public CompletableFuture scanChunkSummary(final ChunkPos pos, final StreamTagVisitor visitor) {
+      Shard shard = this.shardFor(pos);
+      return shard.submitThrowingTask(() -> {
+         try {
+            PendingStore pendingStore = (PendingStore)shard.pendingWrites.get(pos);
+            if (pendingStore != null) {
+               if (pendingStore.data != null) {
+                  pendingStore.data.acceptAsRoot(visitor);
+               }
+            } else {
+               shard.storage.scanChunkSummary(pos, visitor);
             }
-         }
 
-         this.tellStorePending();
-      });
-   }
-
-   private CompletableFuture submitTask(final Supplier task) {
-      return this.consecutiveExecutor.scheduleWithResult(IOWorker.Priority.FOREGROUND.ordinal(), (future) -> {
-         if (!this.shutdownRequested.get()) {
-            future.complete(task.get());
+            return null;
+         } catch (Exception e) {
+            LOGGER.warn("Failed to scan summary of chunk {}", pos, e);
+            throw e;
          }
-
-         this.tellStorePending();
       });
    }
 
-   private void storePendingChunk() {
-      Map.Entry<ChunkPos, PendingStore> entry = this.pendingWrites.pollFirstEntry();
-      if (entry != null) {
-         this.runStore((ChunkPos)entry.getKey(), (PendingStore)entry.getValue());
-         this.tellStorePending();
-      }
-   }
-
-   private void tellStorePending() {
-      this.consecutiveExecutor.schedule(new StrictQueue.RunnableWithPriority(IOWorker.Priority.BACKGROUND.ordinal(), this::storePendingChunk));
-   }
-
-   private void runStore(final ChunkPos pos, final PendingStore write) {
-      try {
-         this.storage.write(pos, write.data);
-         write.result.complete((Object)null);
-      } catch (Exception e) {
-         LOGGER.error("Failed to store chunk {}", pos, e);
-         write.result.completeExceptionally(e);
-      }
-
+   private Shard shardFor(final ChunkPos pos) {
+      return this.shards.length == 1 ? this.shards[0] : this.shards[Math.floorMod(HashCommon.mix(ChunkPos.pack(pos.getRegionX(), pos.getRegionZ())), this.shards.length)];
    }
 
    public void close() throws IOException {
       if (this.shutdownRequested.compareAndSet(false, true)) {
-         this.waitForShutdown();
-         this.consecutiveExecutor.close();
+         for(Shard shard : this.shards) {
+            shard.waitForShutdown();
+         }
 
-         try {
-            this.storage.close();
-         } catch (Exception e) {
-            LOGGER.error("Failed to close storage", e);
+         for(Shard shard : this.shards) {
+            shard.close();
          }
 
       }
    }
 
-   private void waitForShutdown() {
-      this.consecutiveExecutor.scheduleWithResult(IOWorker.Priority.SHUTDOWN.ordinal(), (future) -> future.complete(Unit.INSTANCE)).join();
-   }
-
    public RegionStorageInfo storageInfo() {
-      return this.storage.info();
+      return this.shards[0].storage.info();
    }
 
    private static enum Priority {
@@ -262,6 +337,203 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
       }
    }
 
+   private class Shard {
+      private final PriorityConsecutiveExecutor consecutiveExecutor;
+      private final RegionFileStorage storage;
+      private final SequencedMap pendingWrites;
+      private final Long2ObjectMap pendingWritesByRegion = new Long2ObjectOpenHashMap();
+      private boolean journalCompactionScheduled;
+
+      private Shard(final RegionFileStorage storage, final String name) {
+         Objects.requireNonNull(IOWorker.this);
+         super();
+         this.pendingWrites = new LinkedHashMap();
+         this.storage = storage;
+         this.consecutiveExecutor = new PriorityConsecutiveExecutor(IOWorker.Priority.values().length, Util.ioPool(), name);
+      }
+
+      private PendingStore getOrCreatePendingWrite(final ChunkPos pos, final @Nullable CompoundTag data) {
+         PendingStore pendingStore = (PendingStore)this.pendingWrites.get(pos);
+         if (pendingStore == null) {
+            pendingStore = new PendingStore(data);
+            this.pendingWrites.put(pos, pendingStore);
+            ((Set)this.pendingWritesByRegion.computeIfAbsent(ChunkPos.pack(pos.getRegionX(), pos.getRegionZ()), (key) -> new LinkedHashSet())).add(pos);
+         }
+
+         return pendingStore;
+      }
+
+      private void removeFromRegionIndex(final ChunkPos pos) {
+         long regionKey = ChunkPos.pack(pos.getRegionX(), pos.getRegionZ());
+         Set<ChunkPos> positions = (Set)this.pendingWritesByRegion.get(regionKey);
+         if (positions != null && positions.remove(pos) && positions.isEmpty()) {
+            this.pendingWritesByRegion.remove(regionKey);
+         }
+
+      }
+
+      private CompletableFuture synchronize(final boolean flush) {
+         CompletableFuture<Void> currentWrites = this.submitTask(() -> CompletableFuture.allOf((CompletableFuture[])this.pendingWrites.values().stream().map((store) -> store.result).toArray((x$0) -> new CompletableFuture[x$0]))).thenCompose(Function.identity());
+         return flush ? currentWrites.thenCompose((ignore) -> this.submitThrowingTask(() -> {
+               try {
+                  this.storage.flush();
+                  return null;
+               } catch (Exception e) {
+                  IOWorker.LOGGER.warn("Failed to synchronize chunks", e);
+                  throw e;
+               }
+            })) : currentWrites.thenCompose((ignore) -> this.submitTask(() -> null));
+      }
+
+      private CompletableFuture submitThrowingTask(final ThrowingSupplier task) {
+         return this.consecutiveExecutor.scheduleWithResult(IOWorker.Priority.FOREGROUND.ordinal(), (future) -> {
+            if (!IOWorker.this.shutdownRequested.get()) {
+               try {
+                  future.complete(task.get());
+               } catch (Exception e) {
+                  future.completeExceptionally(e);
+               }
+            }
+
+            this.tellStorePending();
+         });
+      }
+
+      private CompletableFuture submitTask(final Supplier task) {
+         return this.consecutiveExecutor.scheduleWithResult(IOWorker.Priority.FOREGROUND.ordinal(), (future) -> {
+            if (!IOWorker.this.shutdownRequested.get()) {
+               future.complete(task.get());
+            }
+
+            this.tellStorePending();
+         });
+      }
+
+      private void storePendingChunk() {
+         Map.Entry<ChunkPos, PendingStore> entry = this.pendingWrites.pollFirstEntry();
+         if (entry != null) {
+            this.removeFromRegionIndex((ChunkPos)entry.getKey());
+            if (IOWorker.batchedWrites) {
+               this.runBatchedStore(this.pollRegionBatch((ChunkPos)entry.getKey(), (PendingStore)entry.getValue()));
+            } else {
+               this.runStore((ChunkPos)entry.getKey(), (PendingStore)entry.getValue());
+            }
+
+            if (!this.journalCompactionScheduled && this.storage.hasDirtyJournals()) {
+               this.scheduleJournalCompaction(30000L);
+            }
+
+            this.tellStorePending();
+         }
+
+      }
+
+      private void scheduleJournalCompaction(final long delayMillis) {
+         this.journalCompactionScheduled = true;
+         CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (!IOWorker.this.shutdownRequested.get()) {
+               this.consecutiveExecutor.schedule(new StrictQueue.RunnableWithPriority(IOWorker.Priority.BACKGROUND.ordinal(), this::compactIdleJournals));
+            }
+
+         });
+      }
+
+      private void compactIdleJournals() {
+         this.journalCompactionScheduled = false;
+         if (!IOWorker.this.shutdownRequested.get()) {
+            try {
+               long delay = this.storage.compactIdleJournals(30000L);
+               if (delay > 0L) {
+                  this.scheduleJournalCompaction(delay);
+               }
+            } catch (Exception e) {
+               IOWorker.LOGGER.error("Failed to compact region journals", e);
+            }
+
+         }
+      }
+
+      private SequencedMap pollRegionBatch(final ChunkPos first, final PendingStore firstStore) {
+         SequencedMap<ChunkPos, PendingStore> batch = new LinkedHashMap();
+         batch.put(first, firstStore);
+         long regionKey = ChunkPos.pack(first.getRegionX(), first.getRegionZ());
+         Set<ChunkPos> positions = (Set)this.pendingWritesByRegion.get(regionKey);
+         if (positions != null) {
+            Iterator<ChunkPos> iterator = positions.iterator();
+
+            while(iterator.hasNext() && batch.size() < 1024) {
+               ChunkPos pos = (ChunkPos)iterator.next();
+               batch.put(pos, (PendingStore)this.pendingWrites.remove(pos));
+               iterator.remove();
+            }
+
+            if (positions.isEmpty()) {
+               this.pendingWritesByRegion.remove(regionKey);
+            }
+         }
+
+         return batch;
+      }
+
+      private void runBatchedStore(final SequencedMap batch) {
+         if (batch.size() == 1) {
+            Map.Entry<ChunkPos, PendingStore> entry = batch.firstEntry();
+            this.runStore((ChunkPos)entry.getKey(), (PendingStore)entry.getValue());
+         } else {
+            Map<ChunkPos, CompoundTag> values = new LinkedHashMap();
+
+            for(Map.Entry<ChunkPos, PendingStore> entry : ((SequencedMap<ChunkPos, PendingStore>)batch).entrySet()) {
+               values.put((ChunkPos)entry.getKey(), ((PendingStore)entry.getValue()).data);
+            }
+
+            try {
+               this.storage.writeBatch(values);
+
+               for(PendingStore write : ((SequencedMap<ChunkPos, PendingStore>)batch).values()) {
+                  write.result.complete((Object)null);
+               }
+            } catch (Exception e) {
+               IOWorker.LOGGER.error("Failed to store batch of {} chunks starting at {}", new Object[]{batch.size(), batch.firstEntry().getKey(), e});
+
+               for(PendingStore write : ((SequencedMap<ChunkPos, PendingStore>)batch).values()) {
+                  write.result.completeExceptionally(e);
+               }
+            }
+
+         }
+      }
+
+      private void tellStorePending() {
+         this.consecutiveExecutor.schedule(new StrictQueue.RunnableWithPriority(IOWorker.Priority.BACKGROUND.ordinal(), this::storePendingChunk));
+      }
+
+      private void runStore(final ChunkPos pos, final PendingStore write) {
+         try {
+            this.storage.write(pos, write.data);
+            write.result.complete((Object)null);
+         } catch (Exception e) {
+            IOWorker.LOGGER.error("Failed to store chunk {}", pos, e);
+            write.result.completeExceptionally(e);
+         }
+
+      }
+
+      private void waitForShutdown() {
+         this.consecutiveExecutor.scheduleWithResult(IOWorker.Priority.SHUTDOWN.ordinal(), (future) -> future.complete(Unit.INSTANCE)).join();
+      }
+
+      private void close() {
+         this.consecutiveExecutor.close();
+
+         try {
+            this.storage.close();
+         } catch (Exception e) {
+            IOWorker.LOGGER.error("Failed to close storage", e);
+         }
+
+      }
+   }
+
    private static class PendingStore {
       private @Nullable CompoundTag data;
       private final CompletableFuture result = new CompletableFuture();
@@ -25,6 +25,10 @@ public class RecreatingSimpleRegionStorage extends SimpleRegionStorage {
       return this.writeWorker.store(pos, supplier);
    }
 
+   public CompletableFuture closeRegion(final int regionX, final int regionZ) {
+      return CompletableFuture.allOf(super.closeRegion(regionX, regionZ), this.writeWorker.closeRegion(regionX, regionZ));
+   }
+
    public void close() throws IOException {
       super.close();
       this.writeWorker.close();
@@ -0,0 +1,13 @@
+package net.minecraft.world.level.chunk.storage;
+
+public record RegionCompactionStats(int regions, long sizeBefore, long sizeAfter) {
+   public static final RegionCompactionStats EMPTY = new RegionCompactionStats(0, 0L, 0L);
+
+   public RegionCompactionStats add(final RegionCompactionStats other) {
+      return new RegionCompactionStats(this.regions + other.regions, this.sizeBefore + other.sizeBefore, this.sizeAfter + other.sizeAfter);
+   }
+
+   public long reclaimedBytes() {
+      return this.sizeBefore - this.sizeAfter;
+   }
+}
@@ -9,7 +9,13 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
@@ -17,7 +23,12 @@ import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.SequencedMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.minecraft.resources.Identifier;
 import net.minecraft.util.Util;
 import net.minecraft.util.profiling.jfr.JvmProfiler;
@@ -37,6 +48,10 @@ public class RegionFile implements AutoCloseable {
    private static final int EXTERNAL_STREAM_FLAG = 128;
    private static final int EXTERNAL_CHUNK_THRESHOLD = 256;
    private static final int CHUNK_NOT_PRESENT = 0;
+   private static final long JOURNAL_COMPACTION_BYTES = 8388608L;
+   private static final VarHandle OFFSET_HANDLE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+   private static volatile boolean memoryMappedReads;
+   private static volatile boolean journaledWrites;
    private final RegionStorageInfo info;
    private final Path path;
    private final FileChannel file;
@@ -47,21 +62,37 @@ public class RegionFile implements AutoCloseable {
    private final IntBuffer timestamps;
    @VisibleForTesting
    protected final RegionBitmap usedSectors;
+   private final boolean mapped;
+   private volatile @Nullable Mapping mappedFile;
+   private volatile int writeStamp;
+   private volatile @Nullable RegionFileDictionary dictionary;
+   private final @Nullable RegionFileJournal journal;
+   private volatile @Nullable RegionSummaryIndex summaries;
 
    public RegionFile(final RegionStorageInfo info, final Path path, final Path externalFileDir, final boolean sync) throws IOException {
       this(info, path, externalFileDir, RegionFileVersion.getSelected(), sync);
    }
 
+   public static void configureMemoryMappedReads(final boolean enabled) {
+      memoryMappedReads = enabled;
+   }
+
+   public static void configureJournaledWrites(final boolean enabled) {
+      journaledWrites = enabled;
+   }
+
    public RegionFile(final RegionStorageInfo info, final Path path, final Path externalFileDir, final RegionFileVersion version, final boolean sync) throws IOException {
       this.header = ByteBuffer.allocateDirect(8192);
       this.usedSectors = new RegionBitmap();
       this.info = info;
       this.path = path;
       this.version = version;
+      this.mapped = memoryMappedReads;
       if (!Files.isDirectory(externalFileDir, new LinkOption[0])) {
          throw new IllegalArgumentException("Expected directory, got " + String.valueOf(externalFileDir.toAbsolutePath()));
       } else {
          this.externalFileDir = externalFileDir;
+         this.dictionary = RegionFileDictionary.forFolder(externalFileDir);
          this.offsets = this.header.asIntBuffer();
          this.offsets.limit(1024);
          this.header.position(4096);
@@ -103,6 +134,22 @@ public class RegionFile implements AutoCloseable {
             }
          }
 
+         Path journalPath = RegionFileJournal.getPath(path);
+         SequencedMap<ChunkPos, ByteBuffer> replayed = RegionFileJournal.replay(journalPath);
+         if (!replayed.isEmpty()) {
+            LOGGER.info("Replaying {} journaled chunk writes into region file {}", replayed.size(), path);
+            replayed.replaceAll((pos, data) -> data == RegionFileJournal.CLEARED ? null : data);
+            this.writeBatchLocked(replayed);
+            this.file.force(true);
+         }
+
+         if (journaledWrites) {
+            this.journal = new RegionFileJournal(journalPath, sync);
+         } else {
+            this.journal = null;
+            Files.deleteIfExists(journalPath);
+         }
+
       }
    }
 
@@ -110,13 +157,150 @@ public class RegionFile implements AutoCloseable {
       return this.path;
    }
 
+   public void setDictionary(final @Nullable RegionFileDictionary dictionary) {
+      this.dictionary = dictionary;
+   }
+
+   public void enableSummaries() {
+      if (this.summaries == null) {
+         this.summaries = RegionSummaryIndex.load(this.path);
+      }
+
+   }
+
+   public @Nullable RegionSummaryIndex getSummaries() {
+      return this.summaries;
+   }
+
    private Path getExternalChunkPath(final ChunkPos pos) {
       int var10000 = pos.x();
       String externalFileName = "c." + var10000 + "." + pos.z() + ".mcc";
       return this.externalFileDir.resolve(externalFileName);
    }
 
-   public synchronized @Nullable DataInputStream getChunkDataInputStream(final ChunkPos pos) throws IOException {
+   public @Nullable DataInputStream getChunkDataInputStream(final ChunkPos pos) throws IOException {
+      if (this.journal != null) {
+         ByteBuffer journaled = this.journal.get(pos);
+         if (journaled != null) {
+            return this.getChunkDataInputStream(pos, journaled);
+         }
+      }
+
+      if (this.mapped) {
+         int stamp = this.writeStamp;
+         if ((stamp & 1) == 0) {
+            MappedReadResult result = this.readMapped(pos);
+            VarHandle.loadLoadFence();
+            if (result != null && this.writeStamp == stamp) {
+               return result.open(this, pos);
+            }
+         }
+      }
+
+      return this.getChunkDataInputStreamLocked(pos);
+   }
+
+   @Nullable DataInputStream getChunkDataInputStream(final ChunkPos pos, final ByteBuffer data) throws IOException {
+      if (!data.hasRemaining()) {
+         return null;
+      } else {
+         int streamLength = data.getInt(data.position()) - 1;
+         byte versionId = data.get(data.position() + 4);
+         JvmProfiler.INSTANCE.onRegionFileRead(this.info, pos, this.version, streamLength);
+         return this.createChunkInputStream(pos, versionId, new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position() + 5, streamLength));
+      }
+   }
+
+   private @Nullable MappedReadResult readMapped(final ChunkPos pos) throws IOException {
+      int offset = (int)OFFSET_HANDLE.getAcquire(this.header, getOffsetIndex(pos) * 4);
+      if (offset == 0) {
+         return MappedReadResult.MISSING;
+      } else {
+         int sectorNumber = getSectorNumber(offset);
+         int numSectors = getNumSectors(offset);
+         long start = (long)sectorNumber * 4096L;
+         Mapping mapping = this.getMapping(start + 5L);
+         if (mapping == null) {
+            return null;
+         } else {
+            try {
+               MemorySegment segment = mapping.segment();
+               long available = Math.min((long)numSectors * 4096L, segment.byteSize() - start);
+               int length = segment.get(Mapping.BIG_ENDIAN_INT, start);
+               byte versionId = segment.get(ValueLayout.JAVA_BYTE, start + 4L);
+               if (length == 0 || isExternalStreamChunk(versionId)) {
+                  return null;
+               } else {
+                  int streamLength = length - 1;
+                  if (streamLength >= 0 && (long)streamLength <= available - 5L) {
+                     byte[] bytes = new byte[streamLength];
+                     MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, start + 5L, bytes, 0, streamLength);
+                     return new MappedReadResult(versionId, bytes);
+                  } else {
+                     return null;
+                  }
+               }
+            } finally {
+               mapping.release();
+            }
+         }
+      }
+   }
+
+   private @Nullable Mapping getMapping(final long requiredSize) throws IOException {
+      Mapping mapping = this.mappedFile;
+      if (mapping != null && mapping.segment().byteSize() >= requiredSize && mapping.acquire()) {
+         return mapping;
+      } else {
+         synchronized(this) {
+            mapping = this.mappedFile;
+            if (mapping != null && mapping.segment().byteSize() >= requiredSize && mapping.acquire()) {
+               return mapping;
+            } else if (!this.file.isOpen()) {
+               return null;
+            } else {
+               long size = this.file.size();
+               if (size < requiredSize) {
+                  return null;
+               } else {
+                  Arena arena = Arena.ofShared();
+
+                  Mapping newMapping;
+                  try {
+                     newMapping = new Mapping(arena, this.file.map(FileChannel.MapMode.READ_ONLY, 0L, size, arena));
+                  } catch (IOException | RuntimeException e) {
+                     arena.close();
+                     throw e;
+                  }
+
+                  newMapping.acquire();
+                  this.mappedFile = newMapping;
+                  if (mapping != null) {
+                     mapping.release();
+                  }
+
+                  return newMapping;
+               }
+            }
+         }
+      }
+   }
+
+   private synchronized void releaseMapping() {
+      Mapping mapping = this.mappedFile;
+      if (mapping != null) {
+         this.mappedFile = null;
+         mapping.release();
+      }
+
+   }
+
+   private void beginWrite() {
+      ++this.writeStamp;
+      VarHandle.storeStoreFence();
+   }
+
+   private synchronized @Nullable DataInputStream getChunkDataInputStreamLocked(final ChunkPos pos) throws IOException {
       int offset = this.getOffset(pos);
       if (offset == 0) {
          return null;
@@ -222,6 +406,13 @@ public class RegionFile implements AutoCloseable {
    }
 
    public boolean doesChunkExist(final ChunkPos pos) {
+      if (this.journal != null) {
+         int journaledLength = this.journal.pendingLength(pos);
+         if (journaledLength >= 0) {
+            return journaledLength > 0;
+         }
+      }
+
       int offset = this.getOffset(pos);
       if (offset == 0) {
          return false;
@@ -270,26 +461,113 @@ public class RegionFile implements AutoCloseable {
    }
 
    public DataOutputStream getChunkDataOutputStream(final ChunkPos pos) throws IOException {
-      return new DataOutputStream(this.version.wrap((OutputStream)(new ChunkBuffer(pos))));
+      return this.getChunkDataOutputStream(pos, this::write);
+   }
+
+   public DataOutputStream getChunkDataOutputStream(final ChunkPos pos, final ChunkSink sink) throws IOException {
+      return new DataOutputStream(this.version.wrap((OutputStream)(new ChunkBuffer(pos, sink)), this.dictionary));
    }
 
    public void flush() throws IOException {
+      this.compactJournal();
       this.file.force(true);
+      if (this.summaries != null) {
+         this.summaries.save(this.path);
+      }
+
+   }
+
+   public synchronized void compactJournal() throws IOException {
+      if (this.journal != null && !this.journal.isEmpty()) {
+         SequencedMap<ChunkPos, ByteBuffer> entries = this.journal.snapshot();
+         this.beginWrite();
+
+         try {
+            this.writeBatchLocked(entries);
+         } finally {
+            ++this.writeStamp;
+         }
+
+         this.file.force(true);
+         this.journal.reset();
+      }
+
+   }
+
+   public synchronized long compactJournalIfIdle(final long idleMillis) throws IOException {
+      if (this.journal != null && !this.journal.isEmpty()) {
+         long pendingMillis = this.journal.pendingMillis();
+         if (pendingMillis < idleMillis) {
+            return idleMillis - pendingMillis;
+         } else {
+            this.compactJournal();
+            return 0L;
+         }
+      } else {
+         return 0L;
+      }
+   }
+
+   public boolean isOpen() {
+      return this.file.isOpen();
    }
 
-   public void clear(final ChunkPos pos) throws IOException {
+   public boolean hasPendingJournal() {
+      return this.journal != null && !this.journal.isEmpty();
+   }
+
+   private void compactJournalIfFull() throws IOException {
+      if (this.journal != null && this.journal.pendingBytes() >= 8388608L) {
+         this.compactJournal();
+      }
+
+   }
+
+   public synchronized void clear(final ChunkPos pos) throws IOException {
+      if (this.journal != null) {
+         if (this.hasChunk(pos)) {
+            this.journal.append(pos, (ByteBuffer)null);
+            this.compactJournalIfFull();
+         }
+
+         return;
+      }
+
       int offsetIndex = getOffsetIndex(pos);
       int offset = this.offsets.get(offsetIndex);
       if (offset != 0) {
-         this.offsets.put(offsetIndex, 0);
-         this.timestamps.put(offsetIndex, getTimestamp());
-         this.writeHeader();
-         Files.deleteIfExists(this.getExternalChunkPath(pos));
-         this.usedSectors.free(getSectorNumber(offset), getNumSectors(offset));
+         this.beginWrite();
+
+         try {
+            this.offsets.put(offsetIndex, 0);
+            this.timestamps.put(offsetIndex, getTimestamp());
+            this.writeHeader();
+            Files.deleteIfExists(this.getExternalChunkPath(pos));
+            this.usedSectors.free(getSectorNumber(offset), getNumSectors(offset));
+         } finally {
+            ++this.writeStamp;
+         }
       }
    }
 
    protected synchronized void write(final ChunkPos pos, final ByteBuffer data) throws IOException {
+      if (this.journal != null) {
+         this.journal.append(pos, data);
+         this.compactJournalIfFull();
+         return;
+      }
+
+      this.beginWrite();
+
+      try {
+         this.writeLocked(pos, data);
+      } finally {
+         ++this.writeStamp;
+      }
+
+   }
+
+   private void writeLocked(final ChunkPos pos, final ByteBuffer data) throws IOException {
       int offsetIndex = getOffsetIndex(pos);
       int offset = this.offsets.get(offsetIndex);
       int sectorNumber = getSectorNumber(offset);
@@ -322,6 +600,166 @@ public class RegionFile implements AutoCloseable {
 
    }
 
+   public synchronized void writeBatch(final Map chunks) throws IOException {
+      if (this.journal != null) {
+         for(Map.Entry<ChunkPos, ByteBuffer> entry : ((Map<ChunkPos, ByteBuffer>)chunks).entrySet()) {
+            this.journal.append((ChunkPos)entry.getKey(), (ByteBuffer)entry.getValue());
+         }
+
+         this.compactJournalIfFull();
+         return;
+      }
+
+      this.beginWrite();
+
+      try {
+         this.writeBatchLocked(chunks);
+      } finally {
+         ++this.writeStamp;
+      }
+
+   }
+
+   private void writeBatchLocked(final Map chunks) throws IOException {
+      int batchSectors = 0;
+
+      for(Object data : chunks.values()) {
+         if (data != null) {
+            int sectorsNeeded = sizeToSectors(((ByteBuffer)data).remaining());
+            if (sectorsNeeded < 256) {
+               batchSectors += sectorsNeeded;
+            }
+         }
+      }
+
+      int nextSector = batchSectors > 0 ? this.usedSectors.allocate(batchSectors) : 0;
+      List<ByteBuffer> buffers = new ArrayList();
+      List<CommitOp> commitOps = new ArrayList();
+      List<int[]> freedSectors = new ArrayList();
+
+      for(Map.Entry<ChunkPos, ByteBuffer> entry : ((Map<ChunkPos, ByteBuffer>)chunks).entrySet()) {
+         ChunkPos pos = (ChunkPos)entry.getKey();
+         ByteBuffer data = (ByteBuffer)entry.getValue();
+         int offsetIndex = getOffsetIndex(pos);
+         int offset = this.offsets.get(offsetIndex);
+         if (offset != 0) {
+            freedSectors.add(new int[]{getSectorNumber(offset), getNumSectors(offset)});
+         }
+
+         if (data == null) {
+            if (offset == 0) {
+               continue;
+            }
+
+            this.offsets.put(offsetIndex, 0);
+            commitOps.add((CommitOp)() -> Files.deleteIfExists(this.getExternalChunkPath(pos)));
+         } else {
+            int dataSize = data.remaining();
+            int sectorsNeeded = sizeToSectors(dataSize);
+            if (sectorsNeeded >= 256) {
+               Path externalChunkPath = this.getExternalChunkPath(pos);
+               LOGGER.warn("Saving oversized chunk {} ({} bytes} to external file {}", new Object[]{pos, dataSize, externalChunkPath});
+               int stubSector = this.usedSectors.allocate(1);
+               commitOps.add(this.writeToExternalFile(externalChunkPath, data));
+               this.file.write(this.createExternalStub(), (long)stubSector * 4096L);
+               this.offsets.put(offsetIndex, this.packSectorOffset(stubSector, 1));
+            } else {
+               buffers.add(data);
+               int padding = sectorsNeeded * 4096 - dataSize;
+               if (padding > 0) {
+                  buffers.add(ByteBuffer.allocate(padding));
+               }
+
+               commitOps.add((CommitOp)() -> Files.deleteIfExists(this.getExternalChunkPath(pos)));
+               this.offsets.put(offsetIndex, this.packSectorOffset(nextSector, sectorsNeeded));
+               nextSector += sectorsNeeded;
+            }
+         }
+
+         this.timestamps.put(offsetIndex, getTimestamp());
+      }
+
+      if (!buffers.isEmpty()) {
+         ByteBuffer[] gathered = (ByteBuffer[])buffers.toArray((x$0) -> new ByteBuffer[x$0]);
+         long remaining = 0L;
+
+         for(ByteBuffer buffer : gathered) {
+            remaining += (long)buffer.remaining();
+         }
+
+         this.file.position((long)(nextSector - batchSectors) * 4096L);
+
+         while(remaining > 0L) {
+            remaining -= this.file.write(gathered);
+         }
+      }
+
+      this.writeHeader();
+
+      for(CommitOp commitOp : commitOps) {
+         commitOp.run();
+      }
+
+      for(int[] sectors : freedSectors) {
+         this.usedSectors.free(sectors[0], sectors[1]);
+      }
+
+   }
+
+   public synchronized long compactTo(final Path target) throws IOException {
+      this.compactJournal();
+      ByteBuffer newHeader = ByteBuffer.allocate(8192);
+      int nextSector = 2;
+
+      try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+         for(int i = 0; i < 1024; ++i) {
+            int offset = this.offsets.get(i);
+            if (offset != 0) {
+               int numSectors = getNumSectors(offset);
+               ByteBuffer data = ByteBuffer.allocate(numSectors * 4096);
+               long position = (long)getSectorNumber(offset) * 4096L;
+
+               while(data.hasRemaining()) {
+                  int read = this.file.read(data, position + (long)data.position());
+                  if (read == -1) {
+                     break;
+                  }
+               }
+
+               data.flip();
+               if (data.remaining() < 5) {
+                  LOGGER.warn("Dropping truncated chunk at index {} while compacting region file {}", i, this.path);
+               } else {
+                  int length = data.getInt(0);
+                  int usedBytes = isExternalStreamChunk(data.get(4)) ? 5 : length + 4;
+                  if (length > 0 && usedBytes <= data.remaining()) {
+                     data.limit(usedBytes);
+                  }
+
+                  int sectors = sizeToSectors(data.remaining());
+                  long writePosition = (long)nextSector * 4096L;
+
+                  while(data.hasRemaining()) {
+                     writePosition += (long)out.write(data, writePosition);
+                  }
+
+                  newHeader.putInt(i * 4, this.packSectorOffset(nextSector, sectors));
+                  newHeader.putInt(4096 + i * 4, this.timestamps.get(i));
+                  nextSector += sectors;
+               }
+            }
+         }
+
+         out.write(newHeader, 0L);
+         ByteBuffer padding = PADDING_BUFFER.duplicate();
+         padding.position(0);
+         out.write(padding, (long)nextSector * 4096L - 1L);
+         out.force(true);
+      }
+
+      return (long)nextSector * 4096L;
+   }
+
    private ByteBuffer createExternalStub() {
       ByteBuffer stub = ByteBuffer.allocate(5);
       stub.putInt(1);
@@ -366,6 +804,13 @@ public class RegionFile implements AutoCloseable {
    }
 
    public boolean hasChunk(final ChunkPos pos) {
+      if (this.journal != null) {
+         int journaledLength = this.journal.pendingLength(pos);
+         if (journaledLength >= 0) {
+            return journaledLength > 0;
+         }
+      }
+
       return this.getOffset(pos) != 0;
    }
 
@@ -375,12 +820,23 @@ public class RegionFile implements AutoCloseable {
 
    public void close() throws IOException {
       try {
+         this.compactJournal();
          this.padToFullSector();
       } finally {
+         this.releaseMapping();
+
          try {
             this.file.force(true);
          } finally {
             this.file.close();
+            if (this.journal != null) {
+               this.journal.close();
+            }
+
+            if (this.summaries != null) {
+               this.summaries.save(this.path);
+            }
+
          }
       }
 
@@ -399,8 +855,9 @@ public class RegionFile implements AutoCloseable {
 
    private class ChunkBuffer extends ByteArrayOutputStream {
       private final ChunkPos pos;
+      private final ChunkSink sink;
 
-      public ChunkBuffer(final ChunkPos pos) {
+      public ChunkBuffer(final ChunkPos pos, final ChunkSink sink) {
          Objects.requireNonNull(RegionFile.this);
          super(8096);
          super.write(0);
@@ -409,6 +866,7 @@ public class RegionFile implements AutoCloseable {
          super.write(0);
          super.write(RegionFile.this.version.getId());
          this.pos = pos;
+         this.sink = sink;
       }
 
       public void close() throws IOException {
@@ -416,11 +874,64 @@ public class RegionFile implements AutoCloseable {
          int streamLength = this.count - 5 + 1;
          JvmProfiler.INSTANCE.onRegionFileWrite(RegionFile.this.info, this.pos, RegionFile.this.version, streamLength);
          result.putInt(0, streamLength);
-         RegionFile.this.write(this.pos, result);
+         this.sink.accept(this.pos, result);
       }
    }
 
    private interface CommitOp {
       void run() throws IOException;
    }
+
+   @FunctionalInterface
+   public interface ChunkSink {
+      void accept(ChunkPos pos, ByteBuffer data) throws IOException;
+   }
+
+   private static final class Mapping {
+      private static final ValueLayout.OfInt BIG_ENDIAN_INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+      private final Arena arena;
+      private final MemorySegment segment;
+      private final AtomicInteger references = new AtomicInteger(1);
+
+      private Mapping(final Arena arena, final MemorySegment segment) {
+         this.arena = arena;
+         this.segment = segment;
+      }
+
+      public MemorySegment segment() {
+         return this.segment;
+      }
+
+      public boolean acquire() {
+         int references;
+         do {
+            references = this.references.get();
+            if (references == 0) {
+               return false;
+            }
+         } while(!this.references.compareAndSet(references, references + 1));
+
+         return true;
+      }
+
+      public void release() {
+         if (this.references.decrementAndGet() == 0) {
+            this.arena.close();
+         }
+
+      }
+   }
+
+   private static record MappedReadResult(byte versionId, byte[] bytes) {
+      private static final MappedReadResult MISSING = new MappedReadResult((byte)0, new byte[0]);
+
+      private @Nullable DataInputStream open(final RegionFile region, final ChunkPos pos) throws IOException {
+         if (this == MISSING) {
+            return null;
+         } else {
+            JvmProfiler.INSTANCE.onRegionFileRead(region.info, pos, region.version, this.bytes.length);
+            return region.createChunkInputStream(pos, this.versionId, new ByteArrayInputStream(this.bytes));
+         }
+      }
+   }
 }
@@ -0,0 +1,281 @@
+package net.minecraft.world.level.chunk.storage;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+public final class RegionFileDictionary {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   public static final String FILE_NAME = "compression.dict";
+   public static final int MAX_SIZE = 32768;
+   private static final int SEGMENT_SIZE = 256;
+   private static final int DMER_SIZE = 8;
+   private static final Int2ObjectMap BY_ID = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap());
+   private static final Map BY_FILE = new ConcurrentHashMap();
+   private final byte[] bytes;
+   private final int id;
+
+   private RegionFileDictionary(final byte[] bytes) {
+      this.bytes = bytes;
+      Adler32 checksum = new Adler32();
+      checksum.update(bytes);
+      this.id = (int)checksum.getValue();
+   }
+
+   public int getId() {
+      return this.id;
+   }
+
+   public int size() {
+      return this.bytes.length;
+   }
+
+   private static RegionFileDictionary register(final RegionFileDictionary dictionary) {
+      BY_ID.put(dictionary.id, dictionary);
+      return dictionary;
+   }
+
+   public static @Nullable RegionFileDictionary byId(final int id) {
+      return (RegionFileDictionary)BY_ID.get(id);
+   }
+
+   public static @Nullable RegionFileDictionary forFolder(final Path folder) throws IOException {
+      return load(folder.resolve("compression.dict"));
+   }
+
+   public static @Nullable RegionFileDictionary load(final Path file) throws IOException {
+      Path key = file.toAbsolutePath().normalize();
+      Optional<RegionFileDictionary> cached = (Optional)BY_FILE.get(key);
+      if (cached == null) {
+         cached = Optional.ofNullable(read(file));
+         BY_FILE.putIfAbsent(key, cached);
+      }
+
+      return (RegionFileDictionary)cached.orElse((Object)null);
+   }
+
+   private static @Nullable RegionFileDictionary read(final Path file) throws IOException {
+      if (!Files.isRegularFile(file, new LinkOption[0])) {
+         return null;
+      } else {
+         byte[] bytes = Files.readAllBytes(file);
+         if (bytes.length != 0 && bytes.length <= 32768) {
+            return register(new RegionFileDictionary(bytes));
+         } else {
+            LOGGER.warn("Ignoring region compression dictionary {} with invalid size {}", file, bytes.length);
+            return null;
+         }
+      }
+   }
+
+   public void save(final Path file) throws IOException {
+      Path tmpPath = Files.createTempFile(file.getParent(), "dict", (String)null);
+      Files.write(tmpPath, this.bytes);
+      Files.move(tmpPath, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      BY_FILE.put(file.toAbsolutePath().normalize(), Optional.of(this));
+   }
+
+   public static @Nullable RegionFileDictionary train(final List samples, final int maxSize) {
+      Int2IntOpenHashMap frequencies = new Int2IntOpenHashMap();
+      long totalSize = 0L;
+
+      for(Object sampleObject : samples) {
+         byte[] sample = (byte[])sampleObject;
+         IntOpenHashSet seen = new IntOpenHashSet();
+
+         for(int i = 0; i + 8 <= sample.length; ++i) {
+            int hash = hashDmer(sample, i);
+            if (seen.add(hash)) {
+               frequencies.addTo(hash, 1);
+            }
+         }
+
+         totalSize += (long)sample.length;
+      }
+
+      int segmentCount = Math.min(maxSize / 256, samples.size());
+      if (segmentCount != 0 && totalSize >= (long)maxSize) {
+         List<byte[]> segments = new ArrayList();
+
+         for(int epoch = 0; epoch < segmentCount; ++epoch) {
+            byte[] segment = selectSegment(samples, epoch, segmentCount, frequencies);
+            if (segment != null) {
+               segments.add(segment);
+            }
+         }
+
+         if (segments.isEmpty()) {
+            return null;
+         } else {
+            ByteArrayOutputStream dictionary = new ByteArrayOutputStream(maxSize);
+
+            for(int i = segments.size() - 1; i >= 0; --i) {
+               dictionary.writeBytes((byte[])segments.get(i));
+            }
+
+            return register(new RegionFileDictionary(dictionary.toByteArray()));
+         }
+      } else {
+         return null;
+      }
+   }
+
+   private static byte @Nullable [] selectSegment(final List samples, final int epoch, final int epochCount, final Int2IntOpenHashMap frequencies) {
+      byte[] bestSample = null;
+      int bestStart = 0;
+      long bestScore = 0L;
+
+      for(int sampleIndex = epoch; sampleIndex < samples.size(); sampleIndex += epochCount) {
+         byte[] sample = (byte[])samples.get(sampleIndex);
+         int dmerCount = sample.length - 8 + 1;
+         int windowDmers = 249;
+         if (dmerCount >= windowDmers) {
+            int[] hashes = new int[dmerCount];
+            long score = 0L;
+
+            for(int i = 0; i < dmerCount; ++i) {
+               hashes[i] = hashDmer(sample, i);
+               score += (long)frequencies.get(hashes[i]);
+               if (i >= windowDmers) {
+                  score -= (long)frequencies.get(hashes[i - windowDmers]);
+               }
+
+               if (i >= windowDmers - 1 && score > bestScore) {
+                  bestScore = score;
+                  bestSample = sample;
+                  bestStart = i - windowDmers + 1;
+               }
+            }
+         }
+      }
+
+      if (bestSample == null) {
+         return null;
+      } else {
+         for(int i = bestStart; i < bestStart + 256 - 8 + 1; ++i) {
+            frequencies.put(hashDmer(bestSample, i), 0);
+         }
+
+         byte[] segment = new byte[256];
+         System.arraycopy(bestSample, bestStart, segment, 0, 256);
+         return segment;
+      }
+   }
+
+   private static int hashDmer(final byte[] bytes, final int start) {
+      long value = 0L;
+
+      for(int i = 0; i < 8; ++i) {
+         value = value << 8 | (long)(bytes[start + i] & 255);
+      }
+
+      return Long.hashCode(value * -7046029254386353131L);
+   }
+
+   public OutputStream wrap(final OutputStream out) {
+      final Deflater deflater = new Deflater();
+      deflater.setDictionary(this.bytes);
+      return new DeflaterOutputStream(out, deflater) {
+         public void close() throws IOException {
+            try {
+               super.close();
+            } finally {
+               deflater.end();
+            }
+
+         }
+      };
+   }
+
+   public static InputStream inflate(final InputStream in) {
+      return new DictionaryInflaterInputStream(in);
+   }
+
+   private static class DictionaryInflaterInputStream extends InputStream {
+      private final InputStream in;
+      private final Inflater inflater = new Inflater();
+      private final byte[] input = new byte[4096];
+      private final byte[] single = new byte[1];
+      private boolean closed;
+
+      private DictionaryInflaterInputStream(final InputStream in) {
+         this.in = in;
+      }
+
+      public int read() throws IOException {
+         return this.read(this.single, 0, 1) == -1 ? -1 : Byte.toUnsignedInt(this.single[0]);
+      }
+
+      public int read(final byte[] output, final int offset, final int length) throws IOException {
+         if (this.closed) {
+            throw new IOException("Stream closed");
+         } else if (length == 0) {
+            return 0;
+         } else {
+            try {
+               while(true) {
+                  int inflated = this.inflater.inflate(output, offset, length);
+                  if (inflated > 0) {
+                     return inflated;
+                  }
+
+                  if (this.inflater.finished()) {
+                     return -1;
+                  }
+
+                  if (this.inflater.needsDictionary()) {
+                     RegionFileDictionary dictionary = RegionFileDictionary.byId(this.inflater.getAdler());
+                     if (dictionary == null) {
+                        throw new IOException("Missing region compression dictionary " + Integer.toHexString(this.inflater.getAdler()));
+                     }
+
+                     this.inflater.setDictionary(dictionary.bytes);
+                  } else if (this.inflater.needsInput()) {
+                     int read = this.in.read(this.input, 0, this.input.length);
+                     if (read == -1) {
+                        throw new EOFException("Unexpected end of compressed chunk stream");
+                     }
+
+                     this.inflater.setInput(this.input, 0, read);
+                  }
+               }
+            } catch (DataFormatException e) {
+               throw new IOException(e);
+            }
+         }
+      }
+
+      public void close() throws IOException {
+         if (!this.closed) {
+            this.closed = true;
+            this.inflater.end();
+            this.in.close();
+         }
+
+      }
+   }
+}
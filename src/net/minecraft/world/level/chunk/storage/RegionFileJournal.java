@@ -0,0 +1,220 @@
+package net.minecraft.world.level.chunk.storage;
+
+import com.mojang.logging.LogUtils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.zip.CRC32;
+import net.minecraft.util.Util;
+import net.minecraft.world.level.ChunkPos;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+public class RegionFileJournal implements AutoCloseable {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   public static final String JOURNAL_EXTENSION = ".journal";
+   public static final ByteBuffer CLEARED = ByteBuffer.allocate(0);
+   private static final int ENTRY_HEADER_SIZE = 16;
+   private final Path path;
+   private final FileChannel file;
+   private final SequencedMap pending = new LinkedHashMap();
+   private volatile long pendingBytes;
+   private long firstPendingMillis;
+
+   public RegionFileJournal(final Path path, final boolean sync) throws IOException {
+      this.path = path;
+      if (sync) {
+         this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+      } else {
+         this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      }
+
+   }
+
+   public static Path getPath(final Path regionPath) {
+      return regionPath.resolveSibling(String.valueOf(regionPath.getFileName()) + ".journal");
+   }
+
+   public static SequencedMap replay(final Path path) throws IOException {
+      SequencedMap<ChunkPos, ByteBuffer> entries = new LinkedHashMap();
+      if (!Files.isRegularFile(path, new LinkOption[0])) {
+         return entries;
+      } else {
+         ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(path));
+
+         while(journal.remaining() >= 16) {
+            int start = journal.position();
+            int x = journal.getInt();
+            int z = journal.getInt();
+            int length = journal.getInt();
+            int checksum = journal.getInt();
+            if (length < 0 || length > journal.remaining()) {
+               LOGGER.warn("Region journal {} has a torn entry at {}; discarding the rest", path, start);
+               break;
+            }
+
+            ByteBuffer payload = journal.slice(journal.position(), length);
+            if (checksum(journal, start, payload) != checksum) {
+               LOGGER.warn("Region journal {} has a corrupted entry at {}; discarding the rest", path, start);
+               break;
+            }
+
+            journal.position(journal.position() + length);
+            ChunkPos pos = new ChunkPos(x, z);
+            entries.remove(pos);
+            entries.put(pos, length == 0 ? CLEARED : payload);
+         }
+
+         return entries;
+      }
+   }
+
+   private static int checksum(final ByteBuffer journal, final int entryStart, final ByteBuffer payload) {
+      CRC32 crc = new CRC32();
+      crc.update(journal.slice(entryStart, 12));
+      crc.update(payload.duplicate());
+      return (int)crc.getValue();
+   }
+
+   public void append(final ChunkPos pos, final @Nullable ByteBuffer data) throws IOException {
+      ByteBuffer payload = data == null ? CLEARED : data.duplicate();
+      ByteBuffer header = ByteBuffer.allocate(16);
+      header.putInt(pos.x());
+      header.putInt(pos.z());
+      header.putInt(payload.remaining());
+      header.putInt(checksum(header, 0, payload));
+      header.flip();
+      long offset = this.pendingBytes;
+      Entry entry = new Entry(offset + 16L, payload.remaining());
+      writeFully(this.file, header, offset);
+      writeFully(this.file, payload.duplicate(), entry.offset());
+      synchronized(this.pending) {
+         if (this.pending.isEmpty()) {
+            this.firstPendingMillis = Util.getMillis();
+         }
+
+         this.pending.remove(pos);
+         this.pending.put(pos, entry);
+      }
+
+      this.pendingBytes = entry.offset() + (long)entry.length();
+   }
+
+   private static void writeFully(final FileChannel file, final ByteBuffer buffer, long position) throws IOException {
+      while(buffer.hasRemaining()) {
+         position += (long)file.write(buffer, position);
+      }
+
+   }
+
+   private @Nullable Entry getEntry(final ChunkPos pos) {
+      synchronized(this.pending) {
+         return (Entry)this.pending.get(pos);
+      }
+   }
+
+   public int pendingLength(final ChunkPos pos) {
+      Entry entry = this.getEntry(pos);
+      return entry == null ? -1 : entry.length();
+   }
+
+   public @Nullable ByteBuffer get(final ChunkPos pos) throws IOException {
+      while(true) {
+         Entry entry = this.getEntry(pos);
+         if (entry == null) {
+            return null;
+         }
+
+         ByteBuffer data = this.read(entry);
+         if (this.getEntry(pos) == entry) {
+            if (data == null) {
+               throw new IOException("Region journal " + String.valueOf(this.path) + " is shorter than its pending entries");
+            }
+
+            return data;
+         }
+      }
+   }
+
+   private @Nullable ByteBuffer read(final Entry entry) throws IOException {
+      if (entry.length() == 0) {
+         return CLEARED;
+      } else {
+         ByteBuffer data = ByteBuffer.allocate(entry.length());
+
+         while(data.hasRemaining()) {
+            int read = this.file.read(data, entry.offset() + (long)data.position());
+            if (read < 0) {
+               return null;
+            }
+         }
+
+         return data.flip();
+      }
+   }
+
+   public SequencedMap snapshot() throws IOException {
+      List<Map.Entry<ChunkPos, Entry>> entries;
+      synchronized(this.pending) {
+         entries = new ArrayList(((SequencedMap<ChunkPos, Entry>)this.pending).entrySet());
+      }
+
+      SequencedMap<ChunkPos, ByteBuffer> snapshot = new LinkedHashMap();
+
+      for(Map.Entry<ChunkPos, Entry> entry : entries) {
+         ByteBuffer data = this.read((Entry)entry.getValue());
+         if (data == null) {
+            throw new IOException("Region journal " + String.valueOf(this.path) + " is shorter than its pending entries");
+         }
+
+         snapshot.put((ChunkPos)entry.getKey(), data == CLEARED ? null : data);
+      }
+
+      return snapshot;
+   }
+
+   public void reset() throws IOException {
+      synchronized(this.pending) {
+         this.pending.clear();
+      }
+
+      this.pendingBytes = 0L;
+      this.file.truncate(0L);
+   }
+
+   public boolean isEmpty() {
+      synchronized(this.pending) {
+         return this.pending.isEmpty();
+      }
+   }
+
+   public long pendingBytes() {
+      return this.pendingBytes;
+   }
+
+   public long pendingMillis() {
+      synchronized(this.pending) {
+         return this.pending.isEmpty() ? 0L : Util.getMillis() - this.firstPendingMillis;
+      }
+   }
+
+   public void close() throws IOException {
+      this.file.close();
+      if (this.isEmpty()) {
+         Files.deleteIfExists(this.path);
+      }
+
+   }
+
+   private static record Entry(long offset, int length) {
+   }
+}
@@ -1,41 +1,80 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.mojang.logging.LogUtils;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import net.minecraft.SharedConstants;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtAccounter;
 import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.StreamTagVisitor;
+import net.minecraft.nbt.Tag;
+import net.minecraft.nbt.visitors.CollectFields;
 import net.minecraft.util.ExceptionCollector;
 import net.minecraft.util.FileUtil;
+import net.minecraft.util.Util;
 import net.minecraft.world.level.ChunkPos;
 import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
 
 public final class RegionFileStorage implements AutoCloseable {
+   private static final Logger LOGGER = LogUtils.getLogger();
    public static final String ANVIL_EXTENSION = ".mca";
    private static final int MAX_CACHE_SIZE = 256;
+   private static final int DICTIONARY_SAMPLE_COUNT = 512;
+   private static final Pattern REGION_FILE_PATTERN = Pattern.compile("^r\\.(-?[0-9]+)\\.(-?[0-9]+)\\.mca$");
    private final Long2ObjectLinkedOpenHashMap regionCache = new Long2ObjectLinkedOpenHashMap();
+   private final Set dirtyJournals = new ReferenceOpenHashSet();
    private final RegionStorageInfo info;
    private final Path folder;
    private final boolean sync;
+   private final DictionaryState dictionaries;
+   private final boolean summaries;
 
    RegionFileStorage(final RegionStorageInfo info, final Path folder, final boolean sync) {
+      this(info, folder, sync, new DictionaryState(info, folder));
+   }
+
+   RegionFileStorage(final RegionStorageInfo info, final Path folder, final boolean sync, final DictionaryState dictionaries) {
       this.folder = folder;
       this.sync = sync;
       this.info = info;
+      this.dictionaries = dictionaries;
+      this.summaries = RegionSummaryIndex.isSupported(info);
    }
 
    private RegionFile getRegionFile(final ChunkPos pos) throws IOException {
       long key = ChunkPos.pack(pos.getRegionX(), pos.getRegionZ());
       RegionFile region = (RegionFile)this.regionCache.getAndMoveToFirst(key);
       if (region != null) {
+         region.setDictionary(this.dictionaries.get());
          return region;
       } else {
          if (this.regionCache.size() >= 256) {
@@ -47,14 +86,47 @@ public final class RegionFileStorage implements AutoCloseable {
          int var10001 = pos.getRegionX();
          Path file = var10000.resolve("r." + var10001 + "." + pos.getRegionZ() + ".mca");
          RegionFile newRegion = new RegionFile(this.info, file, this.folder, this.sync);
+         newRegion.setDictionary(this.dictionaries.get());
+         if (this.summaries) {
+            newRegion.enableSummaries();
+         }
+
          this.regionCache.putAndMoveToFirst(key, newRegion);
          return newRegion;
       }
    }
 
-   public @Nullable CompoundTag read(final ChunkPos pos) throws IOException {
+   private @Nullable DataInputStream getChunkDataInputStream(final ChunkPos pos) throws IOException {
       RegionFile region = this.getRegionFile(pos);
-      DataInputStream regionChunkInputStream = region.getChunkDataInputStream(pos);
+      ChunkDataCache cache = ChunkDataCache.get();
+      if (cache != null) {
+         ByteBuffer cached = cache.get(this.folder, pos);
+         if (cached != null) {
+            return region.getChunkDataInputStream(pos, cached);
+         }
+      }
+
+      return region.getChunkDataInputStream(pos);
+   }
+
+   public byte @Nullable [] readBytes(final ChunkPos pos) throws IOException {
+      DataInputStream regionChunkInputStream = this.getChunkDataInputStream(pos);
+      if (regionChunkInputStream == null) {
+         return null;
+      } else {
+         byte[] var3;
+         try {
+            var3 = regionChunkInputStream.readAllBytes();
+         } finally {
+            regionChunkInputStream.close();
+         }
+
+         return var3;
+      }
+   }
+
+   public @Nullable CompoundTag read(final ChunkPos pos) throws IOException {
+      DataInputStream regionChunkInputStream = this.getChunkDataInputStream(pos);
 
       CompoundTag var8;
       label43: {
@@ -92,8 +164,7 @@ public final class RegionFileStorage implements AutoCloseable {
    }
 
    public void scanChunk(final ChunkPos pos, final StreamTagVisitor scanner) throws IOException {
-      RegionFile region = this.getRegionFile(pos);
-      DataInputStream regionChunkInputStream = region.getChunkDataInputStream(pos);
+      DataInputStream regionChunkInputStream = this.getChunkDataInputStream(pos);
 
       try {
          if (regionChunkInputStream != null) {
@@ -117,13 +188,62 @@ public final class RegionFileStorage implements AutoCloseable {
 
    }
 
+   public void scanChunkSummary(final ChunkPos pos, final StreamTagVisitor scanner) throws IOException {
+      RegionFile region = this.getRegionFile(pos);
+      RegionSummaryIndex summaries = region.getSummaries();
+      if (summaries == null) {
+         this.scanChunk(pos, scanner);
+      } else {
+         CompoundTag summary = summaries.get(pos);
+         if (summary == null || !RegionSummaryIndex.isCurrentVersion(summary)) {
+            if (!region.hasChunk(pos)) {
+               return;
+            }
+
+            CollectFields collector = RegionSummaryIndex.createCollector();
+            this.scanChunk(pos, collector);
+            Tag result = collector.getResult();
+            if (!(result instanceof CompoundTag)) {
+               return;
+            }
+
+            CompoundTag chunkTag = (CompoundTag)result;
+            if (!RegionSummaryIndex.isCurrentVersion(chunkTag)) {
+               if (summary != null) {
+                  summaries.remove(pos);
+               }
+
+               this.scanChunk(pos, scanner);
+               return;
+            }
+
+            summary = RegionSummaryIndex.summarize(chunkTag);
+            summaries.put(pos, summary);
+         }
+
+         summary.acceptAsRoot(scanner);
+      }
+   }
+
    protected void write(final ChunkPos pos, final @Nullable CompoundTag value) throws IOException {
       if (!SharedConstants.DEBUG_DONT_SAVE_WORLD) {
          RegionFile region = this.getRegionFile(pos);
+         this.updateSummary(region, pos, value);
+         ChunkDataCache cache = ChunkDataCache.get();
          if (value == null) {
+            if (cache != null) {
+               cache.invalidate(this.folder, pos);
+            }
+
             region.clear(pos);
          } else {
-            DataOutputStream output = region.getChunkDataOutputStream(pos);
+            this.dictionaries.sample(value);
+            DataOutputStream output = cache == null ? region.getChunkDataOutputStream(pos) : region.getChunkDataOutputStream(pos, (p, data) -> {
+               ByteBuffer cached = data.duplicate();
+               cache.invalidate(this.folder, p);
+               region.write(p, data);
+               cache.put(this.folder, p, cached);
+            });
 
             try {
                NbtIo.write(value, (DataOutput)output);
@@ -144,9 +264,89 @@ public final class RegionFileStorage implements AutoCloseable {
             }
          }
 
+         this.trackJournal(region);
+      }
+   }
+
+   private void trackJournal(final RegionFile region) {
+      if (region.hasPendingJournal()) {
+         this.dirtyJournals.add(region);
+      }
+
+   }
+
+   protected void writeBatch(final Map values) throws IOException {
+      if (!SharedConstants.DEBUG_DONT_SAVE_WORLD && !values.isEmpty()) {
+         RegionFile region = null;
+         Map<ChunkPos, ByteBuffer> buffers = new LinkedHashMap();
+
+         for(Map.Entry<ChunkPos, CompoundTag> entry : ((Map<ChunkPos, CompoundTag>)values).entrySet()) {
+            ChunkPos pos = (ChunkPos)entry.getKey();
+            CompoundTag value = (CompoundTag)entry.getValue();
+            if (region == null) {
+               region = this.getRegionFile(pos);
+            }
+
+            this.updateSummary(region, pos, value);
+            if (value == null) {
+               buffers.put(pos, (ByteBuffer)null);
+            } else {
+               this.dictionaries.sample(value);
+               DataOutputStream output = region.getChunkDataOutputStream(pos, buffers::put);
+
+               try {
+                  NbtIo.write(value, (DataOutput)output);
+               } catch (Throwable var10) {
+                  try {
+                     output.close();
+                  } catch (Throwable var9) {
+                     var10.addSuppressed(var9);
+                  }
+
+                  throw var10;
+               }
+
+               output.close();
+            }
+         }
+
+         ChunkDataCache cache = ChunkDataCache.get();
+         if (cache == null) {
+            region.writeBatch(buffers);
+            this.trackJournal(region);
+         } else {
+            Map<ChunkPos, ByteBuffer> cached = new LinkedHashMap();
+
+            for(Map.Entry<ChunkPos, ByteBuffer> entry : buffers.entrySet()) {
+               ByteBuffer data = (ByteBuffer)entry.getValue();
+               cache.invalidate(this.folder, (ChunkPos)entry.getKey());
+               cached.put((ChunkPos)entry.getKey(), data == null ? null : data.duplicate());
+            }
+
+            region.writeBatch(buffers);
+            this.trackJournal(region);
+
+            for(Map.Entry<ChunkPos, ByteBuffer> entry : cached.entrySet()) {
+               if (entry.getValue() != null) {
+                  cache.put(this.folder, (ChunkPos)entry.getKey(), (ByteBuffer)entry.getValue());
+               }
+            }
+         }
       }
    }
 
+   private void updateSummary(final RegionFile region, final ChunkPos pos, final @Nullable CompoundTag value) throws IOException {
+      RegionSummaryIndex summaries = region.getSummaries();
+      if (summaries != null) {
+         if (value == null) {
+            summaries.remove(pos);
+         } else {
+            summaries.put(pos, RegionSummaryIndex.summarize(value));
+         }
+      }
+
+   }
+
    public void close() throws IOException {
       ExceptionCollector<IOException> exception = new ExceptionCollector();
       ObjectIterator var2 = this.regionCache.values().iterator();
@@ -164,6 +364,108 @@ public final class RegionFileStorage implements AutoCloseable {
       exception.throwIfPresent();
    }
 
+   public static LongList listRegions(final Path folder) {
+      LongList regions = new LongArrayList();
+      File[] files = folder.toFile().listFiles((dir, name) -> name.endsWith(".mca"));
+      if (files != null) {
+         for(File file : files) {
+            Matcher matcher = REGION_FILE_PATTERN.matcher(file.getName());
+            if (matcher.matches()) {
+               regions.add(ChunkPos.pack(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+         }
+      }
+
+      return regions;
+   }
+
+   public static RegionCompactionStats compactFolder(final RegionStorageInfo info, final Path folder) throws IOException {
+      RegionCompactionStats stats = RegionCompactionStats.EMPTY;
+
+      try (RegionFileStorage storage = new RegionFileStorage(info, folder, true)) {
+         LongIterator var5 = listRegions(folder).iterator();
+
+         while(var5.hasNext()) {
+            long region = var5.nextLong();
+
+            try {
+               stats = stats.add(storage.compactRegion(ChunkPos.getX(region), ChunkPos.getZ(region)));
+            } catch (IOException e) {
+               LOGGER.error("Failed to compact region file r.{}.{}.mca in {}", new Object[]{ChunkPos.getX(region), ChunkPos.getZ(region), folder, e});
+            }
+         }
+      }
+
+      return stats;
+   }
+
+   public RegionCompactionStats compactRegion(final int regionX, final int regionZ) throws IOException {
+      Path file = this.folder.resolve("r." + regionX + "." + regionZ + ".mca");
+      if (!Files.isRegularFile(file, new LinkOption[0])) {
+         return RegionCompactionStats.EMPTY;
+      } else {
+         RegionFile region = this.getRegionFile(ChunkPos.minFromRegion(regionX, regionZ));
+         region.flush();
+         long sizeBefore = Files.size(file);
+         Path compacted = file.resolveSibling(String.valueOf(file.getFileName()) + ".compact");
+
+         long sizeAfter;
+         try {
+            sizeAfter = region.compactTo(compacted);
+         } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+         }
+
+         if (sizeAfter >= sizeBefore) {
+            Files.deleteIfExists(compacted);
+            return new RegionCompactionStats(1, sizeBefore, sizeBefore);
+         } else {
+            this.regionCache.remove(ChunkPos.pack(regionX, regionZ));
+
+            try {
+               region.close();
+               Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+               Files.deleteIfExists(compacted);
+               throw e;
+            }
+
+            return new RegionCompactionStats(1, sizeBefore, sizeAfter);
+         }
+      }
+   }
+
+   public void closeRegion(final int regionX, final int regionZ) throws IOException {
+      RegionFile region = (RegionFile)this.regionCache.remove(ChunkPos.pack(regionX, regionZ));
+      if (region != null) {
+         this.dirtyJournals.remove(region);
+         region.close();
+      }
+
+   }
+
+   public boolean hasDirtyJournals() {
+      return !this.dirtyJournals.isEmpty();
+   }
+
+   public long compactIdleJournals(final long idleMillis) throws IOException {
+      long nextDelay = -1L;
+      Iterator<RegionFile> iterator = this.dirtyJournals.iterator();
+
+      while(iterator.hasNext()) {
+         RegionFile regionFile = (RegionFile)iterator.next();
+         long remaining = regionFile.isOpen() ? regionFile.compactJournalIfIdle(idleMillis) : 0L;
+         if (remaining <= 0L) {
+            iterator.remove();
+         } else {
+            nextDelay = nextDelay < 0L ? remaining : Math.min(nextDelay, remaining);
+         }
+      }
+
+      return nextDelay;
+   }
+
    public void flush() throws IOException {
       ObjectIterator var1 = this.regionCache.values().iterator();
 
@@ -177,4 +479,72 @@ public final class RegionFileStorage implements AutoCloseable {
    public RegionStorageInfo info() {
       return this.info;
    }
+
+   static final class DictionaryState {
+      private final RegionStorageInfo info;
+      private final Path file;
+      private volatile boolean loaded;
+      private volatile @Nullable RegionFileDictionary dictionary;
+      private volatile boolean sampling;
+      private final Queue samples = new ConcurrentLinkedQueue();
+      private final AtomicInteger reservedSamples = new AtomicInteger();
+      private final AtomicInteger collectedSamples = new AtomicInteger();
+
+      DictionaryState(final RegionStorageInfo info, final Path folder) {
+         this.info = info;
+         this.file = folder.resolve("compression.dict");
+      }
+
+      private @Nullable RegionFileDictionary get() throws IOException {
+         return this.loaded ? this.dictionary : this.load();
+      }
+
+      private synchronized @Nullable RegionFileDictionary load() throws IOException {
+         if (!this.loaded) {
+            this.dictionary = RegionFileDictionary.load(this.file);
+            if (this.dictionary == null && RegionFileVersion.getSelected().usesDictionary()) {
+               this.sampling = true;
+            }
+
+            this.loaded = true;
+         }
+
+         return this.dictionary;
+      }
+
+      private void sample(final CompoundTag value) throws IOException {
+         if (this.sampling) {
+            if (this.reservedSamples.incrementAndGet() > 512) {
+               this.sampling = false;
+            } else {
+               ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+               NbtIo.write(value, (DataOutput)(new DataOutputStream(bytes)));
+               this.samples.add(bytes.toByteArray());
+               if (this.collectedSamples.incrementAndGet() == 512) {
+                  this.sampling = false;
+                  List<byte[]> samples = new ArrayList(this.samples);
+                  this.samples.clear();
+                  Util.backgroundExecutor().forName("trainRegionDictionary").execute(() -> this.train(samples));
+               }
+            }
+         }
+      }
+
+      private void train(final List samples) {
+         RegionFileDictionary trained = RegionFileDictionary.train(samples, 32768);
+         if (trained == null) {
+            RegionFileStorage.LOGGER.warn("Failed to train region compression dictionary for {}", this.info.type());
+         } else {
+            try {
+               trained.save(this.file);
+            } catch (IOException e) {
+               RegionFileStorage.LOGGER.error("Failed to save region compression dictionary for {}", this.info.type(), e);
+               return;
+            }
+
+            RegionFileStorage.LOGGER.info("Trained {} byte region compression dictionary for {} from {} chunks", new Object[]{trained.size(), this.info.type(), samples.size()});
+            this.dictionary = trained;
+         }
+      }
+   }
 }
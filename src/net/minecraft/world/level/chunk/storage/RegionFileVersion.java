@@ -27,6 +27,7 @@ public class RegionFileVersion {
    public static final RegionFileVersion VERSION_DEFLATE = register(new RegionFileVersion(2, "deflate", (in) -> new FastBufferedInputStream(new InflaterInputStream(in)), (out) -> new BufferedOutputStream(new DeflaterOutputStream(out))));
    public static final RegionFileVersion VERSION_NONE = register(new RegionFileVersion(3, "none", FastBufferedInputStream::new, BufferedOutputStream::new));
    public static final RegionFileVersion VERSION_LZ4 = register(new RegionFileVersion(4, "lz4", (in) -> new FastBufferedInputStream(new LZ4BlockInputStream(in)), (out) -> new BufferedOutputStream(new LZ4BlockOutputStream(out))));
+   public static final RegionFileVersion VERSION_DEFLATE_DICTIONARY = register(new RegionFileVersion(5, "deflate-dictionary", (in) -> new FastBufferedInputStream(RegionFileDictionary.inflate(in)), (out) -> new BufferedOutputStream(new DeflaterOutputStream(out))));
    public static final RegionFileVersion VERSION_CUSTOM = register(new RegionFileVersion(127, (String)null, (in) -> {
       throw new UnsupportedOperationException();
    }, (out) -> {
@@ -85,6 +86,14 @@ public class RegionFileVersion {
       return (OutputStream)this.outputWrapper.wrap(is);
    }
 
+   public OutputStream wrap(final OutputStream os, final @Nullable RegionFileDictionary dictionary) throws IOException {
+      return dictionary != null && this.usesDictionary() ? new BufferedOutputStream(dictionary.wrap(os)) : this.wrap(os);
+   }
+
+   public boolean usesDictionary() {
+      return this == VERSION_DEFLATE_DICTIONARY;
+   }
+
    public InputStream wrap(final InputStream is) throws IOException {
       return (InputStream)this.inputWrapper.wrap(is);
    }
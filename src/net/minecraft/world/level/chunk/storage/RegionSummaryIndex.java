@@ -0,0 +1,150 @@
+package net.minecraft.world.level.chunk.storage;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import net.minecraft.SharedConstants;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.LongTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.visitors.CollectFields;
+import net.minecraft.nbt.visitors.FieldSelector;
+import net.minecraft.world.level.ChunkPos;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+public class RegionSummaryIndex {
+   private static final Logger LOGGER = LogUtils.getLogger();
+   public static final String SUMMARY_EXTENSION = ".summary";
+   private static final String SUMMARIZED_STORAGE_TYPE = "chunk";
+   private final Path path;
+   private final Int2ObjectMap entries;
+   private boolean dirty;
+
+   private RegionSummaryIndex(final Path path, final Int2ObjectMap entries) {
+      this.path = path;
+      this.entries = entries;
+   }
+
+   public static boolean isSupported(final RegionStorageInfo info) {
+      return "chunk".equals(info.type());
+   }
+
+   public static Path getPath(final Path regionPath) {
+      return regionPath.resolveSibling(String.valueOf(regionPath.getFileName()) + ".summary");
+   }
+
+   public static RegionSummaryIndex load(final Path regionPath) {
+      Path path = getPath(regionPath);
+      Int2ObjectMap<CompoundTag> entries = new Int2ObjectOpenHashMap();
+      if (Files.isRegularFile(path, new LinkOption[0])) {
+         try {
+            CompoundTag tag = NbtIo.readCompressed(path, NbtAccounter.unlimitedHeap());
+            if (tag.getLongOr("RegionSize", -1L) == Files.size(regionPath) && tag.getLongOr("RegionModified", -1L) == Files.getLastModifiedTime(regionPath).toMillis()) {
+               CompoundTag chunks = tag.getCompoundOrEmpty("Chunks");
+
+               for(String key : chunks.keySet()) {
+                  chunks.getCompound(key).ifPresent((summary) -> entries.put(Integer.parseInt(key), summary));
+               }
+            } else {
+               Files.delete(path);
+            }
+         } catch (NumberFormatException | IOException e) {
+            LOGGER.warn("Discarding unreadable region summary {}", path, e);
+            entries.clear();
+         }
+      }
+
+      return new RegionSummaryIndex(path, entries);
+   }
+
+   public static CollectFields createCollector() {
+      return new CollectFields(new FieldSelector[]{new FieldSelector(IntTag.TYPE, "DataVersion"), new FieldSelector(StringTag.TYPE, "Status"), new FieldSelector(LongTag.TYPE, "LastUpdate"), new FieldSelector(CompoundTag.TYPE, "blending_data"), new FieldSelector("structures", CompoundTag.TYPE, "starts")});
+   }
+
+   public static boolean isCurrentVersion(final CompoundTag chunkTag) {
+      return NbtUtils.getDataVersion(chunkTag, -1) >= SharedConstants.getCurrentVersion().dataVersion().version();
+   }
+
+   public static CompoundTag summarize(final CompoundTag chunkTag) {
+      CompoundTag summary = new CompoundTag();
+      chunkTag.getInt("DataVersion").ifPresent((version) -> summary.putInt("DataVersion", version));
+      chunkTag.getString("Status").ifPresent((status) -> summary.putString("Status", status));
+      chunkTag.getLong("LastUpdate").ifPresent((lastUpdate) -> summary.putLong("LastUpdate", lastUpdate));
+      if (chunkTag.getCompound("blending_data").isPresent()) {
+         summary.put("blending_data", new CompoundTag());
+      }
+
+      chunkTag.getCompound("structures").flatMap((structures) -> structures.getCompound("starts")).ifPresent((starts) -> {
+         CompoundTag summarizedStarts = new CompoundTag();
+         starts.forEach((key, start) -> start.asCompound().ifPresent((startTag) -> {
+               CompoundTag summarizedStart = new CompoundTag();
+               summarizedStart.putString("id", startTag.getStringOr("id", ""));
+               summarizedStart.putInt("references", startTag.getIntOr("references", 0));
+               summarizedStarts.put(key, summarizedStart);
+            }));
+         CompoundTag structures = new CompoundTag();
+         structures.put("starts", summarizedStarts);
+         summary.put("structures", structures);
+      });
+      return summary;
+   }
+
+   public synchronized @Nullable CompoundTag get(final ChunkPos pos) {
+      return (CompoundTag)this.entries.get(getIndex(pos));
+   }
+
+   public synchronized void put(final ChunkPos pos, final CompoundTag summary) throws IOException {
+      this.markDirty();
+      this.entries.put(getIndex(pos), summary);
+   }
+
+   public synchronized void remove(final ChunkPos pos) throws IOException {
+      this.markDirty();
+      this.entries.remove(getIndex(pos));
+   }
+
+   private void markDirty() throws IOException {
+      if (!this.dirty) {
+         Files.deleteIfExists(this.path);
+         this.dirty = true;
+      }
+
+   }
+
+   public synchronized void save(final Path regionPath) throws IOException {
+      if (this.dirty && Files.isRegularFile(regionPath, new LinkOption[0])) {
+         CompoundTag chunks = new CompoundTag();
+         ObjectIterator var3 = Int2ObjectMaps.fastIterable(this.entries).iterator();
+
+         while(var3.hasNext()) {
+            Int2ObjectMap.Entry<CompoundTag> entry = (Int2ObjectMap.Entry)var3.next();
+            chunks.put(Integer.toString(entry.getIntKey()), (CompoundTag)entry.getValue());
+         }
+
+         CompoundTag tag = new CompoundTag();
+         tag.putLong("RegionSize", Files.size(regionPath));
+         tag.putLong("RegionModified", Files.getLastModifiedTime(regionPath).toMillis());
+         tag.put("Chunks", chunks);
+         Path tmpPath = Files.createTempFile(this.path.getParent(), "summary", (String)null);
+         NbtIo.writeCompressed(tag, tmpPath);
+         Files.move(tmpPath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         this.dirty = false;
+      }
+   }
+
+   private static int getIndex(final ChunkPos pos) {
+      return pos.getRegionLocalX() + pos.getRegionLocalZ() * 32;
+   }
+}
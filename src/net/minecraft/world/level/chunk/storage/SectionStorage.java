@@ -110,6 +110,10 @@ public class SectionStorage implements AutoCloseable {
       return !this.dirtyChunks.isEmpty();
    }
 
+   public CompletableFuture compactRegions() {
+      return this.simpleRegionStorage.compactRegions();
+   }
+
    protected @Nullable Optional get(final long sectionPos) {
       return (Optional)this.storage.get(sectionPos);
    }
@@ -88,6 +88,10 @@ public record SerializableChunkData(PalettedContainerFactory containerFactory, C
    public static final String SKY_LIGHT_TAG = "SkyLight";
 
    public static SerializableChunkData parse(final LevelHeightAccessor levelHeight, final PalettedContainerFactory containerFactory, final CompoundTag chunkData) {
+      return parse(levelHeight, containerFactory, chunkData, (List)null, (Map)null);
+   }
+
+   static SerializableChunkData parse(final LevelHeightAccessor levelHeight, final PalettedContainerFactory containerFactory, final CompoundTag chunkData, final @Nullable List parsedSections, final @Nullable Map parsedHeightmaps) {
       if (chunkData.getString("Status").isEmpty()) {
          return null;
       } else {
@@ -101,12 +105,22 @@ public record SerializableChunkData(PalettedContainerFactory containerFactory, C
          BelowZeroRetrogen belowZeroRetrogen = (BelowZeroRetrogen)chunkData.read("below_zero_retrogen", BelowZeroRetrogen.CODEC).orElse((Object)null);
          long[] carvingMask = (long[])chunkData.getLongArray("carving_mask").orElse((Object)null);
          Map<Heightmap.Types, long[]> heightmaps = new EnumMap(Heightmap.Types.class);
-         chunkData.getCompound("Heightmaps").ifPresent((heightmapsTag) -> {
+         if (parsedHeightmaps != null) {
             for(Heightmap.Types type : status.heightmapsAfter()) {
-               heightmapsTag.getLongArray(type.getSerializationKey()).ifPresent((longs) -> heightmaps.put(type, longs));
+               long[] longs = (long[])parsedHeightmaps.get(type.getSerializationKey());
+               if (longs != null) {
+                  heightmaps.put(type, longs);
+               }
             }
+         } else {
+            chunkData.getCompound("Heightmaps").ifPresent((heightmapsTag) -> {
+               for(Heightmap.Types type : status.heightmapsAfter()) {
+                  heightmapsTag.getLongArray(type.getSerializationKey()).ifPresent((longs) -> heightmaps.put(type, longs));
+               }
+
+            });
+         }
 
-         });
          List<SavedTick<Block>> blockTicks = SavedTick.filterTickListForChunk((List)chunkData.read("block_ticks", BLOCK_TICKS_CODEC).orElse(List.of()), chunkPos);
          List<SavedTick<Fluid>> fluidTicks = SavedTick.filterTickListForChunk((List)chunkData.read("fluid_ticks", FLUID_TICKS_CODEC).orElse(List.of()), chunkPos);
          ChunkAccess.PackedTicks packedTicks = new ChunkAccess.PackedTicks(blockTicks, fluidTicks);
@@ -129,37 +143,41 @@ public record SerializableChunkData(PalettedContainerFactory containerFactory, C
          List<CompoundTag> entities = chunkData.getList("entities").stream().flatMap(ListTag::compoundStream).toList();
          List<CompoundTag> blockEntities = chunkData.getList("block_entities").stream().flatMap(ListTag::compoundStream).toList();
          CompoundTag structureData = chunkData.getCompoundOrEmpty("structures");
-         ListTag sectionTags = chunkData.getListOrEmpty("sections");
-         List<SectionData> sectionData = new ArrayList(sectionTags.size());
-         Codec<PalettedContainerRO<Holder<Biome>>> biomesCodec = containerFactory.biomeContainerCodec();
-         Codec<PalettedContainer<BlockState>> blockStatesCodec = containerFactory.blockStatesContainerCodec();
-
-         for(int i = 0; i < sectionTags.size(); ++i) {
-            Optional<CompoundTag> maybeSectionTag = sectionTags.getCompound(i);
-            if (!maybeSectionTag.isEmpty()) {
-               CompoundTag sectionTag = (CompoundTag)maybeSectionTag.get();
-               int y = sectionTag.getByteOr("Y", (byte)0);
-               LevelChunkSection section;
-               if (y >= levelHeight.getMinSectionY() && y <= levelHeight.getMaxSectionY()) {
-                  Optional var10000 = sectionTag.getCompound("block_states").map((container) -> (PalettedContainer)blockStatesCodec.parse(NbtOps.INSTANCE, container).promotePartial((msg) -> logErrors(chunkPos, y, msg)).getOrThrow(ChunkReadException::new));
-                  Objects.requireNonNull(containerFactory);
-                  PalettedContainer<BlockState> blocks = (PalettedContainer)var10000.orElseGet(containerFactory::createForBlockStates);
-                  var10000 = sectionTag.getCompound("biomes").map((container) -> (PalettedContainerRO)biomesCodec.parse(NbtOps.INSTANCE, container).promotePartial((msg) -> logErrors(chunkPos, y, msg)).getOrThrow(ChunkReadException::new));
-                  Objects.requireNonNull(containerFactory);
-                  PalettedContainerRO<Holder<Biome>> biomes = (PalettedContainerRO)var10000.orElseGet(containerFactory::createForBiomes);
-                  section = new LevelChunkSection(blocks, biomes);
-               } else {
-                  section = null;
-               }
+         List<SectionData> sectionData = parsedSections != null ? parsedSections : parseSections(levelHeight, containerFactory, chunkPos, chunkData.getListOrEmpty("sections"));
+         return new SerializableChunkData(containerFactory, chunkPos, levelHeight.getMinSectionY(), lastUpdateTime, inhabitedTime, status, blendingData, belowZeroRetrogen, upgradeData, carvingMask, heightmaps, packedTicks, postProcessingSections, lightCorrect, sectionData, entities, blockEntities, structureData);
+      }
+   }
 
-               DataLayer blockLight = (DataLayer)sectionTag.getByteArray("BlockLight").map(DataLayer::new).orElse((Object)null);
-               DataLayer skyLight = (DataLayer)sectionTag.getByteArray("SkyLight").map(DataLayer::new).orElse((Object)null);
-               sectionData.add(new SectionData(y, section, blockLight, skyLight));
+   private static List parseSections(final LevelHeightAccessor levelHeight, final PalettedContainerFactory containerFactory, final ChunkPos chunkPos, final ListTag sectionTags) {
+      List<SectionData> sectionData = new ArrayList(sectionTags.size());
+      Codec<PalettedContainerRO<Holder<Biome>>> biomesCodec = containerFactory.biomeContainerCodec();
+      Codec<PalettedContainer<BlockState>> blockStatesCodec = containerFactory.blockStatesContainerCodec();
+
+      for(int i = 0; i < sectionTags.size(); ++i) {
+         Optional<CompoundTag> maybeSectionTag = sectionTags.getCompound(i);
+         if (!maybeSectionTag.isEmpty()) {
+            CompoundTag sectionTag = (CompoundTag)maybeSectionTag.get();
+            int y = sectionTag.getByteOr("Y", (byte)0);
+            LevelChunkSection section;
+            if (y >= levelHeight.getMinSectionY() && y <= levelHeight.getMaxSectionY()) {
+               Optional var10000 = sectionTag.getCompound("block_states").map((container) -> (PalettedContainer)blockStatesCodec.parse(NbtOps.INSTANCE, container).promotePartial((msg) -> logErrors(chunkPos, y, msg)).getOrThrow(ChunkReadException::new));
+               Objects.requireNonNull(containerFactory);
+               PalettedContainer<BlockState> blocks = (PalettedContainer)var10000.orElseGet(containerFactory::createForBlockStates);
+               var10000 = sectionTag.getCompound("biomes").map((container) -> (PalettedContainerRO)biomesCodec.parse(NbtOps.INSTANCE, container).promotePartial((msg) -> logErrors(chunkPos, y, msg)).getOrThrow(ChunkReadException::new));
+               Objects.requireNonNull(containerFactory);
+               PalettedContainerRO<Holder<Biome>> biomes = (PalettedContainerRO)var10000.orElseGet(containerFactory::createForBiomes);
+               section = new LevelChunkSection(blocks, biomes);
+            } else {
+               section = null;
             }
-         }
 
-         return new SerializableChunkData(containerFactory, chunkPos, levelHeight.getMinSectionY(), lastUpdateTime, inhabitedTime, status, blendingData, belowZeroRetrogen, upgradeData, carvingMask, heightmaps, packedTicks, postProcessingSections, lightCorrect, sectionData, entities, blockEntities, structureData);
+            DataLayer blockLight = (DataLayer)sectionTag.getByteArray("BlockLight").map(DataLayer::new).orElse((Object)null);
+            DataLayer skyLight = (DataLayer)sectionTag.getByteArray("SkyLight").map(DataLayer::new).orElse((Object)null);
+            sectionData.add(new SectionData(y, section, blockLight, skyLight));
+         }
       }
+
+      return sectionData;
    }
 
    public ProtoChunk read(final ServerLevel level, final PoiManager poiManager, final RegionStorageInfo regionInfo, final ChunkPos pos) {
@@ -45,6 +45,10 @@ public class SimpleRegionStorage implements AutoCloseable {
       return this.worker.loadAsync(pos);
    }
 
+   public CompletableFuture readBytes(final ChunkPos pos) {
+      return this.worker.loadBytesAsync(pos);
+   }
+
    public CompletableFuture write(final ChunkPos pos, final CompoundTag value) {
       return this.write(pos, (Supplier)(() -> value));
    }
@@ -94,6 +98,10 @@ public class SimpleRegionStorage implements AutoCloseable {
       chunkTag.remove("__context");
    }
 
+   public int legacyFixerTargetVersion() {
+      return ((LegacyTagFixer)this.legacyFixer.get()).targetDataVersion();
+   }
+
    protected void markChunkDone(final ChunkPos pos) {
       ((LegacyTagFixer)this.legacyFixer.get()).markChunkDone(pos);
    }
@@ -102,6 +110,14 @@ public class SimpleRegionStorage implements AutoCloseable {
       return this.worker.synchronize(flush);
    }
 
+   public CompletableFuture closeRegion(final int regionX, final int regionZ) {
+      return this.worker.closeRegion(regionX, regionZ);
+   }
+
+   public CompletableFuture compactRegions() {
+      return this.worker.compactRegions();
+   }
+
    public void close() throws IOException {
       this.worker.close();
    }
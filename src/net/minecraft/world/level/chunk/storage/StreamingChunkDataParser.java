@@ -0,0 +1,486 @@
+package net.minecraft.world.level.chunk.storage;
+
+import com.mojang.serialization.DataResult;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.StreamTagVisitor;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.nbt.TagType;
+import net.minecraft.nbt.visitors.CollectToTag;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.Property;
+import net.minecraft.world.level.chunk.DataLayer;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.chunk.PalettedContainerFactory;
+import net.minecraft.world.level.chunk.PalettedContainerRO;
+import net.minecraft.world.level.chunk.Strategy;
+import org.jspecify.annotations.Nullable;
+
+public class StreamingChunkDataParser implements StreamTagVisitor {
+   private final CollectToTag remainder = new CollectToTag();
+   private final LevelHeightAccessor levelHeight;
+   private final PalettedContainerFactory containerFactory;
+   private final Registry biomes;
+   private final Deque frames = new ArrayDeque();
+   private final List sectionData = new ArrayList();
+   private final Map heightmaps = new HashMap();
+   private @Nullable Value pendingValue;
+   private boolean visited;
+   private boolean invalid;
+   private int sectionY;
+   private @Nullable PalettedContainer blockStates;
+   private @Nullable PalettedContainerRO biomeContainer;
+   private byte @Nullable [] blockLight;
+   private byte @Nullable [] skyLight;
+   private @Nullable List palette;
+   private long @Nullable [] data;
+   private @Nullable String blockName;
+   private @Nullable Map blockProperties;
+   private @Nullable String currentKey;
+
+   public StreamingChunkDataParser(final LevelHeightAccessor levelHeight, final PalettedContainerFactory containerFactory, final Registry biomes) {
+      this.levelHeight = levelHeight;
+      this.containerFactory = containerFactory;
+      this.biomes = biomes;
+   }
+
+   public boolean isPresent() {
+      return this.visited;
+   }
+
+   public boolean isComplete() {
+      return this.visited && !this.invalid && this.frames.isEmpty();
+   }
+
+   public @Nullable CompoundTag remainingTag() {
+      Tag tag = this.remainder.getResult();
+      return tag instanceof CompoundTag compound ? compound : null;
+   }
+
+   public @Nullable SerializableChunkData build() {
+      CompoundTag chunkData = this.remainingTag();
+      return chunkData == null ? null : SerializableChunkData.parse(this.levelHeight, this.containerFactory, chunkData, this.sectionData, this.heightmaps);
+   }
+
+   private StreamTagVisitor.EntryResult enter(final Frame frame) {
+      this.frames.addLast(frame);
+      return StreamTagVisitor.EntryResult.ENTER;
+   }
+
+   private StreamTagVisitor.EntryResult expect(final Value value) {
+      this.pendingValue = value;
+      return StreamTagVisitor.EntryResult.ENTER;
+   }
+
+   private StreamTagVisitor.EntryResult skipInvalid() {
+      this.invalid = true;
+      return StreamTagVisitor.EntryResult.SKIP;
+   }
+
+   private StreamTagVisitor.EntryResult forwardEntry(final TagType type, final String id) {
+      this.remainder.visitEntry(type, id);
+      return type != ListTag.TYPE && type != CompoundTag.TYPE ? StreamTagVisitor.EntryResult.ENTER : this.enter(StreamingChunkDataParser.Frame.FORWARDED);
+   }
+
+   public StreamTagVisitor.ValueResult visitRootEntry(final TagType type) {
+      if (type != CompoundTag.TYPE) {
+         this.invalid = true;
+         return StreamTagVisitor.ValueResult.HALT;
+      } else {
+         this.visited = true;
+         this.remainder.visitRootEntry(type);
+         this.frames.addLast(StreamingChunkDataParser.Frame.ROOT);
+         return StreamTagVisitor.ValueResult.CONTINUE;
+      }
+   }
+
+   public StreamTagVisitor.EntryResult visitEntry(final TagType type) {
+      return StreamTagVisitor.EntryResult.ENTER;
+   }
+
+   public StreamTagVisitor.EntryResult visitEntry(final TagType type, final String id) {
+      Frame frame = (Frame)this.frames.peekLast();
+      if (frame == null) {
+         return this.skipInvalid();
+      } else {
+         switch (frame) {
+            case ROOT:
+               if (id.equals("sections") && type == ListTag.TYPE) {
+                  return this.enter(StreamingChunkDataParser.Frame.SECTION_LIST);
+               } else {
+                  if (id.equals("Heightmaps") && type == CompoundTag.TYPE) {
+                     return this.enter(StreamingChunkDataParser.Frame.HEIGHTMAPS);
+                  }
+
+                  return this.forwardEntry(type, id);
+               }
+            case FORWARDED:
+               return this.forwardEntry(type, id);
+            case SECTION:
+               switch (id) {
+                  case "Y":
+                     return type == ByteTag.TYPE ? this.expect(StreamingChunkDataParser.Value.SECTION_Y) : this.skipInvalid();
+                  case "block_states":
+                     return type == CompoundTag.TYPE ? this.enter(StreamingChunkDataParser.Frame.BLOCK_STATES) : StreamTagVisitor.EntryResult.SKIP;
+                  case "biomes":
+                     return type == CompoundTag.TYPE ? this.enter(StreamingChunkDataParser.Frame.BIOMES) : StreamTagVisitor.EntryResult.SKIP;
+                  case "BlockLight":
+                     return type == ByteArrayTag.TYPE ? this.expect(StreamingChunkDataParser.Value.BLOCK_LIGHT) : StreamTagVisitor.EntryResult.SKIP;
+                  case "SkyLight":
+                     return type == ByteArrayTag.TYPE ? this.expect(StreamingChunkDataParser.Value.SKY_LIGHT) : StreamTagVisitor.EntryResult.SKIP;
+                  default:
+                     return StreamTagVisitor.EntryResult.SKIP;
+               }
+            case BLOCK_STATES:
+            case BIOMES:
+               if (id.equals("palette")) {
+                  if (type != ListTag.TYPE) {
+                     return this.skipInvalid();
+                  }
+
+                  return this.enter(frame == StreamingChunkDataParser.Frame.BLOCK_STATES ? StreamingChunkDataParser.Frame.BLOCK_PALETTE : StreamingChunkDataParser.Frame.BIOME_PALETTE);
+               } else {
+                  if (id.equals("data") && type == LongArrayTag.TYPE) {
+                     return this.expect(StreamingChunkDataParser.Value.DATA);
+                  }
+
+                  return StreamTagVisitor.EntryResult.SKIP;
+               }
+            case BLOCK_ENTRY:
+               if (id.equals("Name")) {
+                  return type == StringTag.TYPE ? this.expect(StreamingChunkDataParser.Value.BLOCK_NAME) : this.skipInvalid();
+               } else {
+                  if (id.equals("Properties")) {
+                     return type == CompoundTag.TYPE ? this.enter(StreamingChunkDataParser.Frame.BLOCK_PROPERTIES) : this.skipInvalid();
+                  }
+
+                  return StreamTagVisitor.EntryResult.SKIP;
+               }
+            case BLOCK_PROPERTIES:
+               if (type != StringTag.TYPE) {
+                  return this.skipInvalid();
+               }
+
+               this.currentKey = id;
+               return this.expect(StreamingChunkDataParser.Value.BLOCK_PROPERTY);
+            case HEIGHTMAPS:
+               if (type == LongArrayTag.TYPE) {
+                  this.currentKey = id;
+                  return this.expect(StreamingChunkDataParser.Value.HEIGHTMAP);
+               }
+
+               return StreamTagVisitor.EntryResult.SKIP;
+            default:
+               return this.skipInvalid();
+         }
+      }
+   }
+
+   public StreamTagVisitor.EntryResult visitElement(final TagType type, final int index) {
+      Frame frame = (Frame)this.frames.peekLast();
+      if (frame == StreamingChunkDataParser.Frame.FORWARDED) {
+         this.remainder.visitElement(type, index);
+         return type != ListTag.TYPE && type != CompoundTag.TYPE ? StreamTagVisitor.EntryResult.ENTER : this.enter(StreamingChunkDataParser.Frame.FORWARDED);
+      } else if (frame == StreamingChunkDataParser.Frame.SECTION_LIST) {
+         if (type != CompoundTag.TYPE) {
+            return StreamTagVisitor.EntryResult.SKIP;
+         } else {
+            this.sectionY = 0;
+            this.blockStates = null;
+            this.biomeContainer = null;
+            this.blockLight = null;
+            this.skyLight = null;
+            return this.enter(StreamingChunkDataParser.Frame.SECTION);
+         }
+      } else if (frame == StreamingChunkDataParser.Frame.BLOCK_PALETTE) {
+         if (type != CompoundTag.TYPE) {
+            return this.skipInvalid();
+         } else {
+            this.blockName = null;
+            this.blockProperties = null;
+            return this.enter(StreamingChunkDataParser.Frame.BLOCK_ENTRY);
+         }
+      } else if (frame == StreamingChunkDataParser.Frame.BIOME_PALETTE) {
+         return type == StringTag.TYPE ? this.expect(StreamingChunkDataParser.Value.BIOME) : this.skipInvalid();
+      } else {
+         return this.skipInvalid();
+      }
+   }
+
+   public StreamTagVisitor.ValueResult visitList(final TagType elementType, final int size) {
+      Frame frame = (Frame)this.frames.peekLast();
+      if (frame == StreamingChunkDataParser.Frame.FORWARDED) {
+         return this.remainder.visitList(elementType, size);
+      } else {
+         if (frame == StreamingChunkDataParser.Frame.BLOCK_PALETTE || frame == StreamingChunkDataParser.Frame.BIOME_PALETTE) {
+            this.palette = new ArrayList(size);
+         }
+
+         return StreamTagVisitor.ValueResult.CONTINUE;
+      }
+   }
+
+   public StreamTagVisitor.ValueResult visitContainerEnd() {
+      Frame frame = (Frame)this.frames.pollLast();
+      if (frame == null) {
+         this.invalid = true;
+         return StreamTagVisitor.ValueResult.HALT;
+      } else {
+         switch (frame) {
+            case ROOT:
+            case FORWARDED:
+               return this.remainder.visitContainerEnd();
+            case SECTION:
+               this.finishSection();
+               break;
+            case BLOCK_STATES:
+               this.blockStates = (PalettedContainer)this.unpack(this.containerFactory.blockStatesStrategy());
+               break;
+            case BIOMES:
+               this.biomeContainer = (PalettedContainerRO)this.unpack(this.containerFactory.biomeStrategy());
+               break;
+            case BLOCK_ENTRY:
+               this.finishBlockEntry();
+            default:
+         }
+
+         return StreamTagVisitor.ValueResult.CONTINUE;
+      }
+   }
+
+   private @Nullable PalettedContainer unpack(final Strategy strategy) {
+      List<?> entries = this.palette;
+      long[] storage = this.data;
+      this.palette = null;
+      this.data = null;
+      if (entries != null && !this.invalid) {
+         DataResult<PalettedContainer<?>> result = PalettedContainer.unpack(strategy, new PalettedContainerRO.PackedData(entries, Optional.ofNullable(storage).map(LongStream::of)));
+         Optional<PalettedContainer<?>> container = result.result();
+         if (container.isEmpty()) {
+            this.invalid = true;
+            return null;
+         } else {
+            return (PalettedContainer)container.get();
+         }
+      } else {
+         this.invalid = true;
+         return null;
+      }
+   }
+
+   private void finishBlockEntry() {
+      Identifier id = this.blockName == null ? null : Identifier.tryParse(this.blockName);
+      Optional<Block> block = id == null ? Optional.empty() : BuiltInRegistries.BLOCK.getOptional(id);
+      if (block.isPresent() && this.palette != null) {
+         BlockState state = ((Block)block.get()).defaultBlockState();
+         if (this.blockProperties != null) {
+            for(Map.Entry<String, String> entry : ((Map<String, String>)this.blockProperties).entrySet()) {
+               Property<?> property = ((Block)block.get()).getStateDefinition().getProperty((String)entry.getKey());
+               Optional<?> value = property == null ? Optional.empty() : property.getValue((String)entry.getValue());
+               if (value.isEmpty()) {
+                  this.invalid = true;
+                  return;
+               }
+
+               state = (BlockState)state.setValue(property, (Comparable)value.get());
+            }
+         }
+
+         this.palette.add(state);
+      } else {
+         this.invalid = true;
+      }
+   }
+
+   private void finishSection() {
+      if (!this.invalid) {
+         LevelChunkSection section;
+         if (this.sectionY >= this.levelHeight.getMinSectionY() && this.sectionY <= this.levelHeight.getMaxSectionY()) {
+            PalettedContainer<BlockState> blocks = this.blockStates != null ? this.blockStates : this.containerFactory.createForBlockStates();
+            PalettedContainerRO<Holder<Biome>> biomes = this.biomeContainer != null ? this.biomeContainer : this.containerFactory.createForBiomes();
+            section = new LevelChunkSection(blocks, biomes);
+         } else {
+            section = null;
+         }
+
+         DataLayer blockLightLayer = this.blockLight != null ? new DataLayer(this.blockLight) : null;
+         DataLayer skyLightLayer = this.skyLight != null ? new DataLayer(this.skyLight) : null;
+         this.sectionData.add(new SerializableChunkData.SectionData(this.sectionY, section, blockLightLayer, skyLightLayer));
+      }
+   }
+
+   public StreamTagVisitor.ValueResult visitEnd() {
+      return this.remainder.visitEnd();
+   }
+
+   public StreamTagVisitor.ValueResult visit(final String value) {
+      Value pending = this.pendingValue;
+      this.pendingValue = null;
+      if (pending == null) {
+         return this.remainder.visit(value);
+      } else {
+         switch (pending) {
+            case BLOCK_NAME:
+               this.blockName = value;
+               break;
+            case BLOCK_PROPERTY:
+               if (this.blockProperties == null) {
+                  this.blockProperties = new HashMap();
+               }
+
+               this.blockProperties.put(this.currentKey, value);
+               break;
+            case BIOME:
+               Identifier id = Identifier.tryParse(value);
+               Optional<Holder.Reference<Biome>> biome = id == null ? Optional.empty() : this.biomes.get(id);
+               if (biome.isPresent() && this.palette != null) {
+                  this.palette.add(biome.get());
+               } else {
+                  this.invalid = true;
+               }
+               break;
+            default:
+               this.invalid = true;
+         }
+
+         return StreamTagVisitor.ValueResult.CONTINUE;
+      }
+   }
+
+   public StreamTagVisitor.ValueResult visit(final byte value) {
+      Value pending = this.pendingValue;
+      this.pendingValue = null;
+      if (pending == null) {
+         return this.remainder.visit(value);
+      } else {
+         if (pending == StreamingChunkDataParser.Value.SECTION_Y) {
+            this.sectionY = value;
+         } else {
+            this.invalid = true;
+         }
+
+         return StreamTagVisitor.ValueResult.CONTINUE;
+      }
+   }
+
+   public StreamTagVisitor.ValueResult visit(final short value) {
+      return this.pendingValue == null ? this.remainder.visit(value) : this.unexpectedValue();
+   }
+
+   public StreamTagVisitor.ValueResult visit(final int value) {
+      return this.pendingValue == null ? this.remainder.visit(value) : this.unexpectedValue();
+   }
+
+   public StreamTagVisitor.ValueResult visit(final long value) {
+      return this.pendingValue == null ? this.remainder.visit(value) : this.unexpectedValue();
+   }
+
+   public StreamTagVisitor.ValueResult visit(final float value) {
+      return this.pendingValue == null ? this.remainder.visit(value) : this.unexpectedValue();
+   }
+
+   public StreamTagVisitor.ValueResult visit(final double value) {
+      return this.pendingValue == null ? this.remainder.visit(value) : this.unexpectedValue();
+   }
+
+   public StreamTagVisitor.ValueResult visit(final int[] value) {
+      return this.pendingValue == null ? this.remainder.visit(value) : this.unexpectedValue();
+   }
+
+   public StreamTagVisitor.ValueResult visit(final byte[] value) {
+      Value pending = this.pendingValue;
+      this.pendingValue = null;
+      if (pending == StreamingChunkDataParser.Value.BLOCK_LIGHT) {
+         this.blockLight = value;
+      } else if (pending == StreamingChunkDataParser.Value.SKY_LIGHT) {
+         this.skyLight = value;
+      } else {
+         if (pending == null) {
+            return this.remainder.visit(value);
+         }
+
+         this.invalid = true;
+      }
+
+      return StreamTagVisitor.ValueResult.CONTINUE;
+   }
+
+   public StreamTagVisitor.ValueResult visit(final long[] value) {
+      Value pending = this.pendingValue;
+      this.pendingValue = null;
+      if (pending == StreamingChunkDataParser.Value.DATA) {
+         this.data = value;
+      } else if (pending == StreamingChunkDataParser.Value.HEIGHTMAP) {
+         this.heightmaps.put(this.currentKey, value);
+      } else {
+         if (pending == null) {
+            return this.remainder.visit(value);
+         }
+
+         this.invalid = true;
+      }
+
+      return StreamTagVisitor.ValueResult.CONTINUE;
+   }
+
+   private StreamTagVisitor.ValueResult unexpectedValue() {
+      this.pendingValue = null;
+      this.invalid = true;
+      return StreamTagVisitor.ValueResult.CONTINUE;
+   }
+
+   private static enum Frame {
+      ROOT,
+      FORWARDED,
+      SECTION_LIST,
+      SECTION,
+      BLOCK_STATES,
+      BIOMES,
+      BLOCK_PALETTE,
+      BIOME_PALETTE,
+      BLOCK_ENTRY,
+      BLOCK_PROPERTIES,
+      HEIGHTMAPS;
+
+      // $FF: synthetic method
+      private static Frame[] $values() {
+         return new Frame[]{ROOT, FORWARDED, SECTION_LIST, SECTION, BLOCK_STATES, BIOMES, BLOCK_PALETTE, BIOME_PALETTE, BLOCK_ENTRY, BLOCK_PROPERTIES, HEIGHTMAPS};
+      }
+   }
+
+   private static enum Value {
+      SECTION_Y,
+      BLOCK_LIGHT,
+      SKY_LIGHT,
+      DATA,
+      BLOCK_NAME,
+      BLOCK_PROPERTY,
+      BIOME,
+      HEIGHTMAP;
+
+      // $FF: synthetic method
+      private static Value[] $values() {
+         return new Value[]{SECTION_Y, BLOCK_LIGHT, SKY_LIGHT, DATA, BLOCK_NAME, BLOCK_PROPERTY, BIOME, HEIGHTMAP};
+      }
+   }
+}
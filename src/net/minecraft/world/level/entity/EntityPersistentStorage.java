@@ -3,6 +3,7 @@ package net.minecraft.world.level.entity;
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.storage.RegionCompactionStats;
 
 public interface EntityPersistentStorage extends AutoCloseable {
    CompletableFuture loadEntities(ChunkPos pos);
@@ -11,6 +12,10 @@ public interface EntityPersistentStorage extends AutoCloseable {
 
    void flush(boolean flushStorage);
 
+   default CompletableFuture compactRegions() {
+      return CompletableFuture.completedFuture(RegionCompactionStats.EMPTY);
+   }
+
    default void close() throws IOException {
    }
 }
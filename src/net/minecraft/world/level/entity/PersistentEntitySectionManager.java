@@ -290,6 +290,10 @@ public class PersistentEntitySectionManager implements AutoCloseable {
       this.permanentStorage.flush(true);
    }
 
+   public CompletableFuture compactRegions() {
+      return this.permanentStorage.compactRegions();
+   }
+
    public void close() throws IOException {
       this.saveAll();
       this.permanentStorage.close();
@@ -104,7 +104,7 @@ public class StructureCheck {
       CollectFields collectFields = new CollectFields(new FieldSelector[]{new FieldSelector(IntTag.TYPE, "DataVersion"), new FieldSelector("Level", "Structures", CompoundTag.TYPE, "Starts"), new FieldSelector("structures", CompoundTag.TYPE, "starts")});
 
       try {
-         this.storageAccess.scanChunk(pos, collectFields).join();
+         this.storageAccess.scanChunkSummary(pos, collectFields).join();
       } catch (Exception e) {
          LOGGER.warn("Failed to read chunk {}", pos, e);
          return StructureCheckResult.CHUNK_LOAD_NEEDED;
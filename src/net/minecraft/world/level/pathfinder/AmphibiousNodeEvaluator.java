@@ -31,6 +31,10 @@ public class AmphibiousNodeEvaluator extends WalkNodeEvaluator {
       super.done();
    }
 
+   public boolean supportsSnapshotSearch() {
+      return false;
+   }
+
    public Node getStart() {
       return !this.mob.isInWater() ? super.getStart() : this.getStartNode(new BlockPos(Mth.floor(this.mob.getBoundingBox().minX), Mth.floor(this.mob.getBoundingBox().minY + (double)0.5F), Mth.floor(this.mob.getBoundingBox().minZ)));
    }
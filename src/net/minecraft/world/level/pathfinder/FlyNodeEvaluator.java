@@ -30,6 +30,10 @@ public class FlyNodeEvaluator extends WalkNodeEvaluator {
       super.done();
    }
 
+   public boolean supportsSnapshotSearch() {
+      return false;
+   }
+
    public Node getStart() {
       int startY;
       if (this.canFloat() && this.mob.isInWater()) {
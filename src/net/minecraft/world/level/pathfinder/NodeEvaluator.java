@@ -32,6 +32,19 @@ public abstract class NodeEvaluator {
       this.entityDepth = Mth.floor(entity.getBbWidth() + 1.0F);
    }
 
+   public void prepare(final PathNavigationRegion level, final PathfindingMobSnapshot mob) {
+      this.currentContext = new PathfindingContext(level, mob.blockPosition());
+      this.mob = null;
+      this.nodes.clear();
+      this.entityWidth = Mth.floor(mob.getBbWidth() + 1.0F);
+      this.entityHeight = Mth.floor(mob.getBbHeight() + 1.0F);
+      this.entityDepth = Mth.floor(mob.getBbWidth() + 1.0F);
+   }
+
+   public boolean supportsSnapshotSearch() {
+      return false;
+   }
+
    public void done() {
       this.currentContext = null;
       this.mob = null;
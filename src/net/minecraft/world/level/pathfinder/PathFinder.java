@@ -43,6 +43,16 @@ public class PathFinder {
    public @Nullable Path findPath(final PathNavigationRegion level, final Mob entity, final Set targets, final float maxPathLength, final int reachRange, final float maxVisitedNodesMultiplier) {
       this.openSet.clear();
       this.nodeEvaluator.prepare(level, entity);
+      return this.findPath(targets, maxPathLength, reachRange, maxVisitedNodesMultiplier);
+   }
+
+   public @Nullable Path findPath(final PathNavigationRegion level, final PathfindingMobSnapshot entity, final Set targets, final float maxPathLength, final int reachRange, final float maxVisitedNodesMultiplier) {
+      this.openSet.clear();
+      this.nodeEvaluator.prepare(level, entity);
+      return this.findPath(targets, maxPathLength, reachRange, maxVisitedNodesMultiplier);
+   }
+
+   private @Nullable Path findPath(final Set targets, final float maxPathLength, final int reachRange, final float maxVisitedNodesMultiplier) {
       Node from = this.nodeEvaluator.getStart();
       if (from == null) {
          return null;
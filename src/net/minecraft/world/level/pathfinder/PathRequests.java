@@ -0,0 +1,50 @@
+package net.minecraft.world.level.pathfinder;
+
+import it.unimi.dsi.fastutil.floats.FloatList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Util;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import org.jspecify.annotations.Nullable;
+
+public class PathRequests {
+   private final Map requests = new ConcurrentHashMap();
+   private final Long2ObjectMap sectionSnapshots = new Long2ObjectOpenHashMap();
+
+   public @Nullable CompletableFuture get(final Key key) {
+      return (CompletableFuture)this.requests.get(key);
+   }
+
+   public CompletableFuture submit(final Key key, final Supplier search) {
+      CompletableFuture<Path> future = CompletableFuture.supplyAsync(search, Util.backgroundExecutor().forName("findPath"));
+      this.requests.put(key, future);
+      future.whenComplete((path, throwable) -> this.requests.remove(key, future));
+      return future;
+   }
+
+   public PalettedContainer getSectionSnapshot(final long sectionPos, final LevelChunkSection section) {
+      PalettedContainer<BlockState> states = (PalettedContainer)this.sectionSnapshots.get(sectionPos);
+      if (states == null) {
+         states = section.getStates().copy();
+         this.sectionSnapshots.put(sectionPos, states);
+      }
+
+      return states;
+   }
+
+   public void releaseSectionSnapshots() {
+      this.sectionSnapshots.clear();
+   }
+
+   public static record Key(EntityType type, BlockPos from, float width, float height, boolean inWater, boolean onGround, float maxUpStep, int maxFallDistance, FloatList pathfindingMalus, boolean above, int radiusOffset, Set targets, int reachRange, float maxPathLength, float maxVisitedNodesMultiplier, boolean canPassDoors, boolean canOpenDoors, boolean canFloat, boolean canWalkOverFences) {
+   }
+}
@@ -1,44 +1,127 @@
 package net.minecraft.world.level.pathfinder;
 
-import it.unimi.dsi.fastutil.HashCommon;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import org.jspecify.annotations.Nullable;
 
 public class PathTypeCache {
-   private static final int SIZE = 4096;
-   private static final int MASK = 4095;
-   private final long[] positions = new long[4096];
-   private final PathType[] pathTypes = new PathType[4096];
+   private static final int BLOCK_PATH_TYPES = 0;
+   private static final int STATIC_PATH_TYPES = 4096;
+   private static final PathType[] PATH_TYPES = PathType.values();
+   private final ServerLevel level;
+   private int uncachedLookups;
+
+   public PathTypeCache(final ServerLevel level) {
+      this.level = level;
+   }
 
    public PathType getOrCompute(final BlockGetter level, final BlockPos pos) {
-      long key = pos.asLong();
-      int index = index(key);
-      PathType cachedPathType = this.get(index, key);
-      return cachedPathType != null ? cachedPathType : this.compute(level, pos, index, key);
+      LevelChunkSection section = this.getSection(pos);
+      if (section == null) {
+         return WalkNodeEvaluator.getPathTypeFromState(level, pos);
+      } else {
+         int index = index(pos.getX(), pos.getY(), pos.getZ());
+         byte[] pathTypes = section.getOrCreatePathTypes();
+         byte cached = pathTypes[index];
+         if (cached != 0) {
+            return PATH_TYPES[cached - 1];
+         } else {
+            PathType pathType = WalkNodeEvaluator.getPathTypeFromState(section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15));
+            pathTypes[index] = (byte)(pathType.ordinal() + 1);
+            return pathType;
+         }
+      }
+   }
+
+   public PathType getOrComputeStatic(final PathfindingContext context, final BlockPos.MutableBlockPos pos) {
+      LevelChunkSection section = this.getSection(pos);
+      if (section == null) {
+         return WalkNodeEvaluator.computePathTypeStatic(context, pos);
+      } else {
+         int index = 4096 + index(pos.getX(), pos.getY(), pos.getZ());
+         byte[] pathTypes = section.getOrCreatePathTypes();
+         byte cached = pathTypes[index];
+         if (cached != 0) {
+            return PATH_TYPES[cached - 1];
+         } else {
+            int uncachedLookups = this.uncachedLookups;
+            PathType pathType = WalkNodeEvaluator.computePathTypeStatic(context, pos);
+            if (this.uncachedLookups == uncachedLookups) {
+               pathTypes[index] = (byte)(pathType.ordinal() + 1);
+            }
+
+            return pathType;
+         }
+      }
    }
 
-   private @Nullable PathType get(final int index, final long key) {
-      return this.positions[index] == key ? this.pathTypes[index] : null;
+   private @Nullable LevelChunkSection getSection(final BlockPos pos) {
+      if (this.level.isOutsideBuildHeight(pos)) {
+         return null;
+      } else {
+         LevelChunk chunk = this.level.getChunkSource().getChunkNow(pos.getX() >> 4, pos.getZ() >> 4);
+         if (chunk == null) {
+            ++this.uncachedLookups;
+            return null;
+         } else {
+            return chunk.getSection(chunk.getSectionIndex(pos.getY()));
+         }
+      }
    }
 
-   private PathType compute(final BlockGetter level, final BlockPos pos, final int index, final long key) {
-      PathType pathType = WalkNodeEvaluator.getPathTypeFromState(level, pos);
-      this.positions[index] = key;
-      this.pathTypes[index] = pathType;
-      return pathType;
+   public static void invalidate(final LevelChunk chunk, final BlockPos pos) {
+      int x = pos.getX();
+      int y = pos.getY();
+      int z = pos.getZ();
+      LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(y));
+      byte[] pathTypes = section.getPathTypes();
+      if (pathTypes != null) {
+         pathTypes[index(x, y, z)] = 0;
+      }
+
+      Level level = chunk.getLevel();
+      int chunkX = chunk.getPos().x();
+      int chunkZ = chunk.getPos().z();
+
+      for(int sectionX = x - 1 >> 4; sectionX <= x + 1 >> 4; ++sectionX) {
+         for(int sectionZ = z - 1 >> 4; sectionZ <= z + 1 >> 4; ++sectionZ) {
+            LevelChunk neighbour = sectionX == chunkX && sectionZ == chunkZ ? chunk : level.getChunkSource().getChunkNow(sectionX, sectionZ);
+            if (neighbour != null) {
+               for(int sectionY = Math.max(y - 1, level.getMinY()) >> 4; sectionY <= Math.min(y + 1, level.getMaxY()) >> 4; ++sectionY) {
+                  invalidateStatic(neighbour.getSection(neighbour.getSectionIndexFromSectionY(sectionY)), sectionX, sectionY, sectionZ, x, y, z);
+               }
+            }
+         }
+      }
+
    }
 
-   public void invalidate(final BlockPos pos) {
-      long key = pos.asLong();
-      int index = index(key);
-      if (this.positions[index] == key) {
-         this.pathTypes[index] = null;
+   private static void invalidateStatic(final LevelChunkSection section, final int sectionX, final int sectionY, final int sectionZ, final int x, final int y, final int z) {
+      byte[] pathTypes = section.getPathTypes();
+      if (pathTypes != null) {
+         int minX = Math.max(x - 1, sectionX << 4);
+         int maxX = Math.min(x + 1, (sectionX << 4) + 15);
+         int minY = Math.max(y - 1, sectionY << 4);
+         int maxY = Math.min(y + 1, (sectionY << 4) + 15);
+         int minZ = Math.max(z - 1, sectionZ << 4);
+         int maxZ = Math.min(z + 1, (sectionZ << 4) + 15);
+
+         for(int yy = minY; yy <= maxY; ++yy) {
+            for(int zz = minZ; zz <= maxZ; ++zz) {
+               for(int xx = minX; xx <= maxX; ++xx) {
+                  pathTypes[4096 + index(xx, yy, zz)] = 0;
+               }
+            }
+         }
       }
 
    }
 
-   private static int index(final long pos) {
-      return (int)HashCommon.mix(pos) & 4095;
+   private static int index(final int x, final int y, final int z) {
+      return (y & 15) << 8 | (z & 15) << 4 | x & 15;
    }
 }
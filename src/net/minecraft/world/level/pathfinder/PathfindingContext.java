@@ -26,11 +26,21 @@ public class PathfindingContext {
       this.mobPosition = mob.blockPosition();
    }
 
+   public PathfindingContext(final CollisionGetter level, final BlockPos mobPosition) {
+      this.level = level;
+      this.cache = null;
+      this.mobPosition = mobPosition;
+   }
+
    public PathType getPathTypeFromState(final int x, final int y, final int z) {
       BlockPos pos = this.mutablePos.set(x, y, z);
       return this.cache == null ? WalkNodeEvaluator.getPathTypeFromState(this.level, pos) : this.cache.getOrCompute(this.level, pos);
    }
 
+   public PathType getPathTypeStatic(final BlockPos.MutableBlockPos pos) {
+      return this.cache == null ? WalkNodeEvaluator.computePathTypeStatic(this, pos) : this.cache.getOrComputeStatic(this, pos);
+   }
+
    public BlockState getBlockState(final BlockPos pos) {
       return this.level.getBlockState(pos);
    }
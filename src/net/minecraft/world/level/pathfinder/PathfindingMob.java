@@ -0,0 +1,36 @@
+package net.minecraft.world.level.pathfinder;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.CollisionGetter;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.phys.AABB;
+
+public interface PathfindingMob {
+   double getX();
+
+   double getY();
+
+   double getZ();
+
+   BlockPos blockPosition();
+
+   AABB getBoundingBox();
+
+   float getBbWidth();
+
+   float getBbHeight();
+
+   boolean isInWater();
+
+   boolean onGround();
+
+   float maxUpStep();
+
+   int getMaxFallDistance();
+
+   float getPathfindingMalus(PathType pathType);
+
+   boolean canStandOnFluid(FluidState fluid);
+
+   boolean noPathfindingCollision(CollisionGetter level, AABB aabb);
+}
@@ -0,0 +1,149 @@
+package net.minecraft.world.level.pathfinder;
+
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.floats.FloatList;
+import it.unimi.dsi.fastutil.floats.FloatLists;
+import net.minecraft.core.BlockPos;
+import net.minecraft.tags.FluidTags;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.BlockCollisions;
+import net.minecraft.world.level.CollisionGetter;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.EntityCollisionContext;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+public final class PathfindingMobSnapshot implements PathfindingMob {
+   private static final PathType[] PATH_TYPES = PathType.values();
+   private final double x;
+   private final double y;
+   private final double z;
+   private final BlockPos blockPosition;
+   private final AABB boundingBox;
+   private final float bbWidth;
+   private final float bbHeight;
+   private final boolean inWater;
+   private final boolean onGround;
+   private final float maxUpStep;
+   private final int maxFallDistance;
+   private final FloatList pathfindingMalus;
+   private final boolean canStandOnWater;
+   private final boolean canStandOnLava;
+   private final CollisionContext collisionContext;
+
+   private PathfindingMobSnapshot(final Mob mob) {
+      this.x = mob.getX();
+      this.y = mob.getY();
+      this.z = mob.getZ();
+      this.blockPosition = mob.blockPosition();
+      this.boundingBox = mob.getBoundingBox();
+      this.bbWidth = mob.getBbWidth();
+      this.bbHeight = mob.getBbHeight();
+      this.inWater = mob.isInWater();
+      this.onGround = mob.onGround();
+      this.maxUpStep = mob.maxUpStep();
+      this.maxFallDistance = mob.getMaxFallDistance();
+      float[] malus = new float[PATH_TYPES.length];
+
+      for(PathType type : PATH_TYPES) {
+         malus[type.ordinal()] = mob.getPathfindingMalus(type);
+      }
+
+      this.pathfindingMalus = FloatLists.unmodifiable(FloatArrayList.wrap(malus));
+      this.canStandOnWater = mob.canStandOnFluid(Fluids.WATER.getSource(false));
+      this.canStandOnLava = mob.canStandOnFluid(Fluids.LAVA.getSource(false));
+      this.collisionContext = new EntityCollisionContext(mob.isDescending(), false, mob.getY(), mob.getMainHandItem().copy(), false, (Entity)null) {
+         public boolean canStandOnFluid(final FluidState fluidStateAbove, final FluidState fluid) {
+            return PathfindingMobSnapshot.this.canStandOnFluid(fluid) && !fluidStateAbove.getType().isSame(fluid.getType());
+         }
+      };
+   }
+
+   public static PathfindingMobSnapshot of(final Mob mob) {
+      mob.onPathfindingStart();
+
+      PathfindingMobSnapshot snapshot;
+      try {
+         snapshot = new PathfindingMobSnapshot(mob);
+      } finally {
+         mob.onPathfindingDone();
+      }
+
+      return snapshot;
+   }
+
+   public double getX() {
+      return this.x;
+   }
+
+   public double getY() {
+      return this.y;
+   }
+
+   public double getZ() {
+      return this.z;
+   }
+
+   public BlockPos blockPosition() {
+      return this.blockPosition;
+   }
+
+   public AABB getBoundingBox() {
+      return this.boundingBox;
+   }
+
+   public float getBbWidth() {
+      return this.bbWidth;
+   }
+
+   public float getBbHeight() {
+      return this.bbHeight;
+   }
+
+   public boolean isInWater() {
+      return this.inWater;
+   }
+
+   public boolean onGround() {
+      return this.onGround;
+   }
+
+   public float maxUpStep() {
+      return this.maxUpStep;
+   }
+
+   public int getMaxFallDistance() {
+      return this.maxFallDistance;
+   }
+
+   public float getPathfindingMalus(final PathType pathType) {
+      return this.pathfindingMalus.getFloat(pathType.ordinal());
+   }
+
+   public FloatList pathfindingMalus() {
+      return this.pathfindingMalus;
+   }
+
+   public boolean canStandOnFluid(final FluidState fluid) {
+      if (fluid.is(FluidTags.LAVA)) {
+         return this.canStandOnLava;
+      } else {
+         return fluid.is(FluidTags.WATER) && this.canStandOnWater;
+      }
+   }
+
+   public boolean noPathfindingCollision(final CollisionGetter level, final AABB aabb) {
+      BlockCollisions collisions = new BlockCollisions(level, this.collisionContext, aabb, false, (pos, shape) -> shape);
+
+      while(collisions.hasNext()) {
+         if (!((VoxelShape)collisions.next()).isEmpty()) {
+            return false;
+         }
+      }
+
+      return true;
+   }
+}
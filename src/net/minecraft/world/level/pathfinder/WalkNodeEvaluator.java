@@ -34,6 +34,7 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    private final Long2ObjectMap pathTypesByPosCacheByMob = new Long2ObjectOpenHashMap();
    private final Object2BooleanMap collisionCache = new Object2BooleanOpenHashMap();
    private final Node[] reusableNeighbors;
+   private @Nullable PathfindingMob pathfindingMob;
 
    public WalkNodeEvaluator() {
       this.reusableNeighbors = new Node[Direction.Plane.HORIZONTAL.length()];
@@ -41,11 +42,25 @@ public class WalkNodeEvaluator extends NodeEvaluator {
 
    public void prepare(final PathNavigationRegion level, final Mob entity) {
       super.prepare(level, entity);
+      this.pathfindingMob = entity;
       entity.onPathfindingStart();
    }
 
+   public void prepare(final PathNavigationRegion level, final PathfindingMobSnapshot mob) {
+      super.prepare(level, mob);
+      this.pathfindingMob = mob;
+   }
+
+   public boolean supportsSnapshotSearch() {
+      return true;
+   }
+
    public void done() {
-      this.mob.onPathfindingDone();
+      if (this.mob != null) {
+         this.mob.onPathfindingDone();
+      }
+
+      this.pathfindingMob = null;
       this.pathTypesByPosCacheByMob.clear();
       this.collisionCache.clear();
       super.done();
@@ -53,10 +68,10 @@ public class WalkNodeEvaluator extends NodeEvaluator {
 
    public Node getStart() {
       BlockPos.MutableBlockPos reusablePos = new BlockPos.MutableBlockPos();
-      int startY = this.mob.getBlockY();
-      BlockState blockState = this.currentContext.getBlockState(reusablePos.set(this.mob.getX(), (double)startY, this.mob.getZ()));
-      if (!this.mob.canStandOnFluid(blockState.getFluidState())) {
-         if (this.canFloat() && this.mob.isInWater()) {
+      int startY = this.pathfindingMob.blockPosition().getY();
+      BlockState blockState = this.currentContext.getBlockState(reusablePos.set(this.pathfindingMob.getX(), (double)startY, this.pathfindingMob.getZ()));
+      if (!this.pathfindingMob.canStandOnFluid(blockState.getFluidState())) {
+         if (this.canFloat() && this.pathfindingMob.isInWater()) {
             while(true) {
                if (!blockState.is(Blocks.WATER) && blockState.getFluidState() != Fluids.WATER.getSource(false)) {
                   --startY;
@@ -64,12 +79,12 @@ public class WalkNodeEvaluator extends NodeEvaluator {
                }
 
                ++startY;
-               blockState = this.currentContext.getBlockState(reusablePos.set(this.mob.getX(), (double)startY, this.mob.getZ()));
+               blockState = this.currentContext.getBlockState(reusablePos.set(this.pathfindingMob.getX(), (double)startY, this.pathfindingMob.getZ()));
             }
-         } else if (this.mob.onGround()) {
-            startY = Mth.floor(this.mob.getY() + (double)0.5F);
+         } else if (this.pathfindingMob.onGround()) {
+            startY = Mth.floor(this.pathfindingMob.getY() + (double)0.5F);
          } else {
-            reusablePos.set(this.mob.getX(), this.mob.getY() + (double)1.0F, this.mob.getZ());
+            reusablePos.set(this.pathfindingMob.getX(), this.pathfindingMob.getY() + (double)1.0F, this.pathfindingMob.getZ());
 
             while(reusablePos.getY() > this.currentContext.level().getMinY()) {
                startY = reusablePos.getY();
@@ -81,17 +96,17 @@ public class WalkNodeEvaluator extends NodeEvaluator {
             }
          }
       } else {
-         while(this.mob.canStandOnFluid(blockState.getFluidState())) {
+         while(this.pathfindingMob.canStandOnFluid(blockState.getFluidState())) {
             ++startY;
-            blockState = this.currentContext.getBlockState(reusablePos.set(this.mob.getX(), (double)startY, this.mob.getZ()));
+            blockState = this.currentContext.getBlockState(reusablePos.set(this.pathfindingMob.getX(), (double)startY, this.pathfindingMob.getZ()));
          }
 
          --startY;
       }
 
-      BlockPos startPos = this.mob.blockPosition();
+      BlockPos startPos = this.pathfindingMob.blockPosition();
       if (!this.canStartAt(reusablePos.set(startPos.getX(), startY, startPos.getZ()))) {
-         AABB mobBB = this.mob.getBoundingBox();
+         AABB mobBB = this.pathfindingMob.getBoundingBox();
          if (this.canStartAt(reusablePos.set(mobBB.minX, (double)startY, mobBB.minZ)) || this.canStartAt(reusablePos.set(mobBB.minX, (double)startY, mobBB.maxZ)) || this.canStartAt(reusablePos.set(mobBB.maxX, (double)startY, mobBB.minZ)) || this.canStartAt(reusablePos.set(mobBB.maxX, (double)startY, mobBB.maxZ))) {
             return this.getStartNode(reusablePos);
          }
@@ -103,13 +118,13 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    protected Node getStartNode(final BlockPos pos) {
       Node node = this.getNode(pos);
       node.type = this.getCachedPathType(node.x, node.y, node.z);
-      node.costMalus = this.mob.getPathfindingMalus(node.type);
+      node.costMalus = this.pathfindingMob.getPathfindingMalus(node.type);
       return node;
    }
 
    protected boolean canStartAt(final BlockPos pos) {
       PathType blockPathType = this.getCachedPathType(pos.getX(), pos.getY(), pos.getZ());
-      return blockPathType != PathType.OPEN && this.mob.getPathfindingMalus(blockPathType) >= 0.0F;
+      return blockPathType != PathType.OPEN && this.pathfindingMob.getPathfindingMalus(blockPathType) >= 0.0F;
    }
 
    public Target getTarget(final double x, final double y, final double z) {
@@ -121,8 +136,8 @@ public class WalkNodeEvaluator extends NodeEvaluator {
       int jumpSize = 0;
       PathType blockPathTypeAbove = this.getCachedPathType(pos.x, pos.y + 1, pos.z);
       PathType blockPathTypeCurrent = this.getCachedPathType(pos.x, pos.y, pos.z);
-      if (this.mob.getPathfindingMalus(blockPathTypeAbove) >= 0.0F && blockPathTypeCurrent != PathType.STICKY_HONEY) {
-         jumpSize = Mth.floor(Math.max(1.0F, this.mob.maxUpStep()));
+      if (this.pathfindingMob.getPathfindingMalus(blockPathTypeAbove) >= 0.0F && blockPathTypeCurrent != PathType.STICKY_HONEY) {
+         jumpSize = Mth.floor(Math.max(1.0F, this.pathfindingMob.maxUpStep()));
       }
 
       double posHeight = this.getFloorLevel(new BlockPos(pos.x, pos.y, pos.z));
@@ -155,7 +170,7 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    protected boolean isDiagonalValid(final Node pos, final @Nullable Node ew, final @Nullable Node ns) {
       if (ns != null && ew != null && ns.y <= pos.y && ew.y <= pos.y) {
          if (ew.type != PathType.WALKABLE_DOOR && ns.type != PathType.WALKABLE_DOOR) {
-            boolean canPassBetweenPosts = ns.type == PathType.FENCE && ew.type == PathType.FENCE && (double)this.mob.getBbWidth() < (double)0.5F;
+            boolean canPassBetweenPosts = ns.type == PathType.FENCE && ew.type == PathType.FENCE && (double)this.pathfindingMob.getBbWidth() < (double)0.5F;
             return (ns.y < pos.y || ns.costMalus >= 0.0F || canPassBetweenPosts) && (ew.y < pos.y || ew.costMalus >= 0.0F || canPassBetweenPosts);
          } else {
             return false;
@@ -182,8 +197,8 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    }
 
    private boolean canReachWithoutCollision(final Node posTo) {
-      AABB bb = this.mob.getBoundingBox();
-      Vec3 delta = new Vec3((double)posTo.x - this.mob.getX() + bb.getXsize() / (double)2.0F, (double)posTo.y - this.mob.getY() + bb.getYsize() / (double)2.0F, (double)posTo.z - this.mob.getZ() + bb.getZsize() / (double)2.0F);
+      AABB bb = this.pathfindingMob.getBoundingBox();
+      Vec3 delta = new Vec3((double)posTo.x - this.pathfindingMob.getX() + bb.getXsize() / (double)2.0F, (double)posTo.y - this.pathfindingMob.getY() + bb.getYsize() / (double)2.0F, (double)posTo.z - this.pathfindingMob.getZ() + bb.getZsize() / (double)2.0F);
       int steps = Mth.ceil(delta.length() / bb.getSize());
       delta = delta.scale((double)(1.0F / (float)steps));
 
@@ -220,7 +235,7 @@ public class WalkNodeEvaluator extends NodeEvaluator {
          return null;
       } else {
          PathType pathType = this.getCachedPathType(x, y, z);
-         float pathCost = this.mob.getPathfindingMalus(pathType);
+         float pathCost = this.pathfindingMob.getPathfindingMalus(pathType);
          if (pathCost >= 0.0F) {
             best = this.getNodeAndUpdateCostToMax(x, y, z, pathType, pathCost);
          }
@@ -248,7 +263,7 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    }
 
    private double getMobJumpHeight() {
-      return Math.max((double)1.125F, (double)this.mob.maxUpStep());
+      return Math.max((double)1.125F, (double)this.pathfindingMob.maxUpStep());
    }
 
    private Node getNodeAndUpdateCostToMax(final int x, final int y, final int z, final PathType pathType, final float cost) {
@@ -277,15 +292,15 @@ public class WalkNodeEvaluator extends NodeEvaluator {
       Node nodeAbove = this.findAcceptedNode(x, y + 1, z, jumpSize - 1, nodeHeight, travelDirection, blockPathTypeCurrent);
       if (nodeAbove == null) {
          return null;
-      } else if (this.mob.getBbWidth() >= 1.0F) {
+      } else if (this.pathfindingMob.getBbWidth() >= 1.0F) {
          return nodeAbove;
       } else if (nodeAbove.type != PathType.OPEN && nodeAbove.type != PathType.WALKABLE) {
          return nodeAbove;
       } else {
          double centerX = (double)(x - travelDirection.getStepX()) + (double)0.5F;
          double centerZ = (double)(z - travelDirection.getStepZ()) + (double)0.5F;
-         double halfWidth = (double)this.mob.getBbWidth() / (double)2.0F;
-         AABB grow = new AABB(centerX - halfWidth, this.getFloorLevel(reusablePos.set(centerX, (double)(y + 1), centerZ)) + 0.001, centerZ - halfWidth, centerX + halfWidth, (double)this.mob.getBbHeight() + this.getFloorLevel(reusablePos.set((double)nodeAbove.x, (double)nodeAbove.y, (double)nodeAbove.z)) - 0.002, centerZ + halfWidth);
+         double halfWidth = (double)this.pathfindingMob.getBbWidth() / (double)2.0F;
+         AABB grow = new AABB(centerX - halfWidth, this.getFloorLevel(reusablePos.set(centerX, (double)(y + 1), centerZ)) + 0.001, centerZ - halfWidth, centerX + halfWidth, (double)this.pathfindingMob.getBbHeight() + this.getFloorLevel(reusablePos.set((double)nodeAbove.x, (double)nodeAbove.y, (double)nodeAbove.z)) - 0.002, centerZ + halfWidth);
          return this.hasCollisions(grow) ? null : nodeAbove;
       }
    }
@@ -293,13 +308,13 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    private @Nullable Node tryFindFirstNonWaterBelow(final int x, int y, final int z, @Nullable Node best) {
       --y;
 
-      while(y > this.mob.level().getMinY()) {
+      while(y > this.currentContext.level().getMinY()) {
          PathType pathTypeLocal = this.getCachedPathType(x, y, z);
          if (pathTypeLocal != PathType.WATER) {
             return best;
          }
 
-         best = this.getNodeAndUpdateCostToMax(x, y, z, pathTypeLocal, this.mob.getPathfindingMalus(pathTypeLocal));
+         best = this.getNodeAndUpdateCostToMax(x, y, z, pathTypeLocal, this.pathfindingMob.getPathfindingMalus(pathTypeLocal));
          --y;
       }
 
@@ -307,13 +322,13 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    }
 
    private Node tryFindFirstGroundNodeBelow(final int x, final int y, final int z) {
-      for(int currentY = y - 1; currentY >= this.mob.level().getMinY(); --currentY) {
-         if (y - currentY > this.mob.getMaxFallDistance()) {
+      for(int currentY = y - 1; currentY >= this.currentContext.level().getMinY(); --currentY) {
+         if (y - currentY > this.pathfindingMob.getMaxFallDistance()) {
             return this.getBlockedNode(x, currentY, z);
          }
 
          PathType pathType = this.getCachedPathType(x, currentY, z);
-         float pathCost = this.mob.getPathfindingMalus(pathType);
+         float pathCost = this.pathfindingMob.getPathfindingMalus(pathType);
          if (pathType != PathType.OPEN) {
             if (pathCost >= 0.0F) {
                return this.getNodeAndUpdateCostToMax(x, currentY, z, pathType, pathCost);
@@ -327,14 +342,18 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    }
 
    private boolean hasCollisions(final AABB aabb) {
-      return this.collisionCache.computeIfAbsent(aabb, (bb) -> !this.currentContext.level().noCollision(this.mob, aabb));
+      return this.collisionCache.computeIfAbsent(aabb, (bb) -> !this.pathfindingMob.noPathfindingCollision(this.currentContext.level(), aabb));
    }
 
    protected PathType getCachedPathType(final int x, final int y, final int z) {
-      return (PathType)this.pathTypesByPosCacheByMob.computeIfAbsent(BlockPos.asLong(x, y, z), (k) -> this.getPathTypeOfMob(this.currentContext, x, y, z, this.mob));
+      return (PathType)this.pathTypesByPosCacheByMob.computeIfAbsent(BlockPos.asLong(x, y, z), (k) -> this.getPathTypeOfMob(this.currentContext, x, y, z, this.pathfindingMob));
    }
 
    public PathType getPathTypeOfMob(final PathfindingContext context, final int x, final int y, final int z, final Mob mob) {
+      return this.getPathTypeOfMob(context, x, y, z, (PathfindingMob)mob);
+   }
+
+   protected PathType getPathTypeOfMob(final PathfindingContext context, final int x, final int y, final int z, final PathfindingMob mob) {
       Set<PathType> blockTypes = this.getPathTypeWithinMobBB(context, x, y, z);
       if (blockTypes.contains(PathType.FENCE)) {
          return PathType.FENCE;
@@ -371,7 +390,7 @@ public class WalkNodeEvaluator extends NodeEvaluator {
                int yy = dy + y;
                int zz = dz + z;
                PathType blockType = this.getPathType(context, xx, yy, zz);
-               BlockPos mobPosition = this.mob.blockPosition();
+               BlockPos mobPosition = context.mobPosition();
                boolean canPassDoors = this.canPassDoors();
                if (blockType == PathType.DOOR_WOOD_CLOSED && this.canOpenDoors() && canPassDoors) {
                   blockType = PathType.WALKABLE_DOOR;
@@ -402,6 +421,10 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    }
 
    public static PathType getPathTypeStatic(final PathfindingContext context, final BlockPos.MutableBlockPos pos) {
+      return context.getPathTypeStatic(pos);
+   }
+
+   static PathType computePathTypeStatic(final PathfindingContext context, final BlockPos.MutableBlockPos pos) {
       int x = pos.getX();
       int y = pos.getY();
       int z = pos.getZ();
@@ -473,7 +496,10 @@ public class WalkNodeEvaluator extends NodeEvaluator {
    }
 
    protected static PathType getPathTypeFromState(final BlockGetter level, final BlockPos pos) {
-      BlockState blockState = level.getBlockState(pos);
+      return getPathTypeFromState(level.getBlockState(pos));
+   }
+
+   static PathType getPathTypeFromState(final BlockState blockState) {
       Block block = blockState.getBlock();
       if (blockState.isAir()) {
          return PathType.OPEN;
@@ -5,6 +5,7 @@ import it.unimi.dsi.fastutil.longs.Long2LongMaps;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
 import java.util.ArrayDeque;
@@ -31,6 +32,10 @@ import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 public class LevelTicks implements LevelTickAccess {
    private static final Comparator CONTAINER_DRAIN_ORDER = (o1, o2) -> ScheduledTick.INTRA_TICK_DRAIN_ORDER.compare(o1.peek(), o2.peek());
+   private static final int WHEEL_BITS = 8;
+   private static final int WHEEL_SIZE = 256;
+   private static final int WHEEL_MASK = 255;
+   private static final long WHEEL_NOT_STARTED = Long.MIN_VALUE;
    private final LongPredicate tickCheck;
    private final Long2ObjectMap allContainers = new Long2ObjectOpenHashMap();
    private final Long2LongMap nextTickForContainer = (Long2LongMap)Util.make(new Long2LongOpenHashMap(), (m) -> m.defaultReturnValue(Long.MAX_VALUE));
@@ -39,6 +44,10 @@ public class LevelTicks implements LevelTickAccess {
    private final List alreadyRunThisTick;
    private final Set toRunThisTickSet;
    private final BiConsumer chunkScheduleUpdater;
+   private final LongArrayList[] wheel = new LongArrayList[256];
+   private final Long2ObjectMap farWheel = new Long2ObjectOpenHashMap();
+   private final LongArrayList dueContainers = new LongArrayList();
+   private long wheelTick = Long.MIN_VALUE;
 
    public LevelTicks(final LongPredicate tickCheck) {
       this.containersToTick = new PriorityQueue(CONTAINER_DRAIN_ORDER);
@@ -60,6 +69,7 @@ public class LevelTicks implements LevelTickAccess {
       ScheduledTick<T> nextTick = container.peek();
       if (nextTick != null) {
          this.nextTickForContainer.put(posKey, nextTick.triggerTick());
+         this.enqueueContainer(posKey, nextTick.triggerTick());
       }
 
       container.setOnTickAdded(this.chunkScheduleUpdater);
@@ -105,30 +115,98 @@ public class LevelTicks implements LevelTickAccess {
    }
 
    private void sortContainersToTick(final long currentTick) {
-      ObjectIterator<Long2LongMap.Entry> it = Long2LongMaps.fastIterator(this.nextTickForContainer);
+      if (this.wheelTick == Long.MIN_VALUE || currentTick < this.wheelTick || currentTick - this.wheelTick >= 256L) {
+         this.rebuildWheel(currentTick);
+      }
 
-      while(it.hasNext()) {
-         Long2LongMap.Entry entry = (Long2LongMap.Entry)it.next();
-         long chunkPos = entry.getLongKey();
-         long nextTick = entry.getLongValue();
+      while(this.wheelTick <= currentTick) {
+         if ((this.wheelTick & 255L) == 0L) {
+            this.cascadeFarWheel(this.wheelTick >> 8);
+         }
+
+         LongArrayList slot = this.wheel[(int)(this.wheelTick & 255L)];
+         if (slot != null && !slot.isEmpty()) {
+            this.dueContainers.addAll(slot);
+            slot.clear();
+         }
+
+         ++this.wheelTick;
+      }
+
+      for(int i = 0; i < this.dueContainers.size(); ++i) {
+         long chunkPos = this.dueContainers.getLong(i);
+         long nextTick = this.nextTickForContainer.get(chunkPos);
          if (nextTick <= currentTick) {
             LevelChunkTicks<T> candidateContainer = (LevelChunkTicks)this.allContainers.get(chunkPos);
             if (candidateContainer == null) {
-               it.remove();
+               this.nextTickForContainer.remove(chunkPos);
             } else {
                ScheduledTick<T> scheduledTick = candidateContainer.peek();
                if (scheduledTick == null) {
-                  it.remove();
+                  this.nextTickForContainer.remove(chunkPos);
                } else if (scheduledTick.triggerTick() > currentTick) {
-                  entry.setValue(scheduledTick.triggerTick());
+                  this.nextTickForContainer.put(chunkPos, scheduledTick.triggerTick());
+                  this.enqueueContainer(chunkPos, scheduledTick.triggerTick());
                } else if (this.tickCheck.test(chunkPos)) {
-                  it.remove();
+                  this.nextTickForContainer.remove(chunkPos);
                   this.containersToTick.add(candidateContainer);
+               } else {
+                  this.nextTickForContainer.put(chunkPos, currentTick + 1L);
+                  this.enqueueContainer(chunkPos, currentTick + 1L);
                }
             }
          }
       }
 
+      this.dueContainers.clear();
+   }
+
+   private void rebuildWheel(final long currentTick) {
+      for(LongArrayList slot : this.wheel) {
+         if (slot != null) {
+            slot.clear();
+         }
+      }
+
+      this.farWheel.clear();
+      this.wheelTick = currentTick;
+      ObjectIterator<Long2LongMap.Entry> it = Long2LongMaps.fastIterator(this.nextTickForContainer);
+
+      while(it.hasNext()) {
+         Long2LongMap.Entry entry = (Long2LongMap.Entry)it.next();
+         this.enqueueContainer(entry.getLongKey(), entry.getLongValue());
+      }
+
+   }
+
+   private void cascadeFarWheel(final long bucket) {
+      LongArrayList containers = (LongArrayList)this.farWheel.remove(bucket);
+      if (containers != null) {
+         for(int i = 0; i < containers.size(); ++i) {
+            long chunkPos = containers.getLong(i);
+            this.enqueueContainer(chunkPos, this.nextTickForContainer.get(chunkPos));
+         }
+      }
+
+   }
+
+   private void enqueueContainer(final long chunkPos, final long nextTick) {
+      if (this.wheelTick != Long.MIN_VALUE && nextTick != Long.MAX_VALUE) {
+         long slotTick = Math.max(nextTick, this.wheelTick);
+         if (slotTick - this.wheelTick < 256L) {
+            int slot = (int)(slotTick & 255L);
+            LongArrayList containers = this.wheel[slot];
+            if (containers == null) {
+               containers = new LongArrayList();
+               this.wheel[slot] = containers;
+            }
+
+            containers.add(chunkPos);
+         } else {
+            ((LongArrayList)this.farWheel.computeIfAbsent(slotTick >> 8, (bucket) -> new LongArrayList())).add(chunkPos);
+         }
+
+      }
    }
 
    private void drainContainers(final long currentTick, final int maxTicksToProcess) {
@@ -157,7 +235,11 @@ public class LevelTicks implements LevelTickAccess {
    }
 
    private void updateContainerScheduling(final ScheduledTick nextTick) {
-      this.nextTickForContainer.put(ChunkPos.pack(nextTick.pos()), nextTick.triggerTick());
+      long chunkPos = ChunkPos.pack(nextTick.pos());
+      if (this.nextTickForContainer.put(chunkPos, nextTick.triggerTick()) != nextTick.triggerTick()) {
+         this.enqueueContainer(chunkPos, nextTick.triggerTick());
+      }
+
    }
 
    private void drainFromCurrentContainer(final Queue containersToTick, final LevelChunkTicks currentContainer, final long currentTick, final int maxTicksToProcess) {